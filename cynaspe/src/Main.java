@@ -1,7 +1,19 @@
+import java.io.File;
+import java.io.IOException;
 import java.util.Scanner;
 
 import controller.MazeConsoleController;
 import controller.MainController;
+import enums.GenerationAlgorithms;
+import enums.MazeType;
+import io.MazeWriter;
+import model.MappedMazeStorage;
+import model.MazeModel;
+import utils.EllerMazeGenerator;
+import utils.IMazeGenerator;
+import utils.MazeBenchmark;
+import utils.MazeBraider;
+import utils.MazeGenerator;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -11,16 +23,21 @@ import javafx.stage.Stage;
 /**
  * Main entry point for the application.
  * 
- * Two modes:
+ * Four modes:
  * <ul>
  *   <li>UI mode (default) - launches the JavaFX GUI</li>
  *   <li>Console mode - runs a text-based console interface</li>
+ *   <li>Generate mode - generates a maze without any interface and writes it in a .maze file</li>
+ *   <li>Benchmark mode - times the generators, and the solvers on the storages of a large maze</li>
  * </ul>
  * 
  * Command-line argument:
  * <pre>
  *   java Main ui      // launch GUI
  *   java Main console // launch console mode
+ *   java Main generate algorithm rows columns file [seed] [imperfect [density]] // generate a maze in a file,
+ *                                                                               // "eller" streams it without keeping it in memory
+ *   java Main benchmark [size] [threads] // launch benchmark mode on a size x size maze
  * </pre>
  */
 public class Main extends Application {
@@ -32,7 +49,12 @@ public class Main extends Application {
     }
 
     /**
-     * The mode to launch the application in ("ui" or "console").
+     * The size of the maze used by the benchmark mode, if no size is given.
+     */
+    private static final int DEFAULT_BENCHMARK_SIZE = 2048;
+
+    /**
+     * The mode to launch the application in ("ui", "console", "generate" or "benchmark").
      */
     private static String launchMode;
 
@@ -40,7 +62,7 @@ public class Main extends Application {
      * Main method, entry point of the application.
      * Decides whether to run the UI or console mode based on arguments.
      * @param args
-     * command-line arguments; the first argument can specify the launch mode ("ui" or "console")
+     * command-line arguments; the first argument can specify the launch mode ("ui", "console", "generate" or "benchmark")
      * @throws Exception
      * if an error occurs during launch
      */
@@ -50,6 +72,12 @@ public class Main extends Application {
 
         if (launchMode.equals("console")){
             runConsoleMode();
+        } else if (launchMode.equals("generate")){
+            runGenerateMode(args);
+        } else if (launchMode.equals("benchmark")){
+            int size = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_BENCHMARK_SIZE;
+            int parallelism = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+            runBenchmarkMode(size, parallelism);
         } else {
             launch(args);
         }
@@ -92,4 +120,67 @@ public class Main extends Application {
         scanner.close(); 
         System.exit(0);
     }
+
+    /**
+     * Generate a maze without the interface and write it in a .maze file.
+     * A maze too large for the heap is stored in a temporary mapped file while it is generated,
+     * except with Eller's algorithm, which writes each row as soon as it is made.
+     * An algorithm whose own structures don't fit in the heap is refused
+     * @param args
+     * The command-line arguments: "generate", the algorithm, the number of rows and columns,
+     * the file, then optionally the seed, "imperfect" and the chance of a dead end to be opened
+     * @throws IOException
+     * if the file can't be written
+     */
+    private static void runGenerateMode(String[] args) throws IOException {
+        if (args.length < 5) {
+            System.out.println("Usage : generate algorithme lignes colonnes fichier [graine] [imperfect [densité]]");
+            return;
+        }
+        int numRows = Integer.parseInt(args[2]);
+        int numCols = Integer.parseInt(args[3]);
+        File file = new File(args[4]);
+        int seed = args.length > 5 ? Integer.parseInt(args[5]) : (int) (Math.random() * Integer.MAX_VALUE);
+        MazeType mazeType = args.length > 6 && args[6].equalsIgnoreCase("imperfect") ? MazeType.IMPERFECT : MazeType.PERFECT;
+        double loopDensity = args.length > 7 ? Double.parseDouble(args[7]) : MazeBraider.DEFAULT_DENSITY;
+
+        if (args[1].equalsIgnoreCase("eller")) {
+            System.out.println(String.format("Génération d'un labyrinthe de %d x %d (Eller, écrit ligne par ligne, graine %d)...", numRows, numCols, seed));
+            long start = System.nanoTime();
+            EllerMazeGenerator.write(file, numRows, numCols, seed, mazeType, loopDensity);
+            System.out.println(String.format("Labyrinthe écrit dans %s en %d ms", file.getPath(), (System.nanoTime() - start) / 1_000_000));
+            return;
+        }
+
+        GenerationAlgorithms algorithm = GenerationAlgorithms.valueOf(args[1].toUpperCase());
+        MazeModel maze;
+        try {
+            // The storage leaves room on the heap for the structures of the generator
+            maze = MazeModel.create(numRows, numCols, MazeGenerator.getHeapBitsPerCell(algorithm));
+        } catch (IllegalArgumentException e) {
+            System.out.println("Labyrinthe trop grand pour cet algorithme, essayer block_parallel, packed_binary_tree ou eller : " + e.getMessage());
+            return;
+        }
+        String storage = maze.getStorage() instanceof MappedMazeStorage ? "fichier mappé" : "tas";
+        System.out.println(String.format("Génération d'un labyrinthe de %d x %d (%s, graine %d)...", numRows, numCols, storage, seed));
+        long start = System.nanoTime();
+        IMazeGenerator generator = MazeGenerator.create(algorithm, maze, seed, mazeType);
+        generator.setLoopDensity(loopDensity);
+        generator.generateAll();
+        System.out.println(String.format("Généré en %d ms", (System.nanoTime() - start) / 1_000_000));
+
+        MazeWriter.write(maze, file);
+        System.out.println("Labyrinthe écrit dans " + file.getPath());
+    }
+
+    /**
+     * Run the benchmark of the generators and of the storages in the console
+     * @param size
+     * The number of rows and columns of the maze
+     * @param parallelism
+     * The number of threads of the parallel generators
+     */
+    private static void runBenchmarkMode(int size, int parallelism){
+        MazeBenchmark.run(size, parallelism);
+    }
 }
@@ -0,0 +1,166 @@
+package algorithms;
+
+import java.util.Arrays;
+
+import enums.TileStatus;
+import enums.WallDirection;
+import model.INeighborVisitor;
+import model.MazeModel;
+import utils.Helpers;
+
+/**
+ * A* algorithm to find the shortest path in a maze.
+ * <p>
+ * This class extends the base {@code Solver} and implements the {@code ISolverAlgorithm}
+ * interface. Like Dijkstra, the tiles are expanded by their distance from the start, plus the
+ * Manhattan distance to the end tile, which is never larger than the real distance, so the path is still the shortest
+ * but the tiles leading away from the end are expanded last, or never.
+ * </p>
+ * <p>
+ * Moving to a neighbor adds 1 to the distance and changes the Manhattan distance by 1,
+ * so the key of a neighbor is the key of the tile expanded or that key plus 2. The open list
+ * is then a {@code CellBucketQueue} of span 2, without comparisons. The tiles with the same key
+ * come out last in, first out, the deepest first, so on an open maze the search goes straight to the end.
+ * </p>
+ */
+public class AStarSolver extends Solver implements ISolverAlgorithm {
+    /** Bits allocated on the heap per tile, by the distances and the open list when it holds every tile */
+    public static final int HEAP_BITS_PER_CELL = 2 * Integer.SIZE;
+
+    /** The distance from the start to each cell, {@code Integer.MAX_VALUE} if not reached yet */
+    private int[] distance;
+    /** Open list of the cells to expand, by their distance plus their Manhattan distance to the end */
+    private CellBucketQueue queue = new CellBucketQueue(2);
+    /** Row of the end tile */
+    private int endRow;
+    /** Column of the end tile */
+    private int endColumn;
+    /** Distance of the tile being expanded */
+    private int currentDistance;
+    /** Visitor called on each accessible neighbor of the expanded tile, created once */
+    private final INeighborVisitor neighborVisitor = this::visitNeighbor;
+
+    /**
+     * Constructor for an A* solver.
+     * @param maze the maze to be solved
+     */
+    public AStarSolver(MazeModel maze) {
+        super(maze);
+        maze.checkHeapFootprint(HEAP_BITS_PER_CELL);
+
+        distance = new int[maze.getCellCount()];
+        Arrays.fill(distance, Integer.MAX_VALUE);
+        endRow = maze.getRow(maze.getEndCell());
+        endColumn = maze.getColumn(maze.getEndCell());
+
+        int start = maze.getStartCell();
+        distance[start] = 0;
+        queue.add(start, getHeuristic(start));
+
+        startTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Get the Manhattan distance from a cell to the end tile
+     * @param cell
+     * The cell id
+     * @return
+     * A {@code int} of the number of rows and columns between the cell and the end
+     */
+    private int getHeuristic(int cell){
+        return Math.abs(maze.getRow(cell) - endRow) + Math.abs(maze.getColumn(cell) - endColumn);
+    }
+
+    @Override
+    public boolean step(){
+        // If the algorithm has finished, start tracing the path starting from the end tile
+        if (isFinished && pathStep != -1) {
+            // Mark the current tile as being the path
+            state.setStatus(pathStep, TileStatus.PATH);
+            pathCount++;
+            // Move to the parent tile (previous step) in the path
+            pathStep = getParent(pathStep);
+            // True if path tracing has finished (no more parents)
+            return pathStep == -1;
+        }
+
+        if (!isFinished) {
+            if (!queue.isEmpty()) {
+                // Get the tile with the lowest key
+                int current = queue.poll();
+
+                // If it has been already expanded, skip it
+                if (state.isReached(current)) return false;
+
+                // Mark that this tile has been expanded
+                markVisited(current, null);
+                state.setStatus(current, TileStatus.VISITED);
+
+                // If the current tile is the end tile
+                // The algoritm has finished
+                if (current == maze.getEndCell()) {
+                    isFinished = true;
+                    endTime = System.currentTimeMillis();
+                    pathStep = current;
+                    // return false because we have to do the path tracing
+                    return false;
+                }
+
+                // Loop over the accessible neigbhors of the tile
+                currentDistance = distance[current];
+                maze.forEachAccessibleNeighbor(current, neighborVisitor);
+
+                // Continue the algorithm
+                return false;
+            }
+
+            // No path has been found
+            isFinished = true;
+            endTime = System.currentTimeMillis();
+            return true;
+        }
+        // Algorithm and path tracing has been finished
+        return true;
+    }
+
+    /**
+     * Visit an accessible neighbor of the expanded tile
+     * @param neighbor
+     * The cell id of the neighbor
+     * @param direction
+     * The direction to go from the expanded tile to the neighbor
+     */
+    private void visitNeighbor(int neighbor, WallDirection direction){
+        // If the neighbor has already been expanded, its distance is the shortest
+        if (state.isReached(neighbor)) return;
+
+        int alt = currentDistance + 1;
+        // If the path to neighbor is shorter, update the parent and distance
+        if (alt < distance[neighbor]) {
+            distance[neighbor] = alt;
+            state.setParentDirection(neighbor, Helpers.getOppositeDirection(direction));
+            // The older entry of the neighbor has a larger key, it will be skipped
+            queue.add(neighbor, alt + getHeuristic(neighbor));
+        }
+    }
+
+    @Override
+    public int getVisitedCount(){
+        return visitedCount;
+    }
+
+    @Override
+    public int getPathCount(){
+        return pathCount;
+    }
+
+    @Override
+    public boolean isComplete() {
+        return isFinished && pathStep == -1;
+    }
+
+    @Override
+    public long getExecutionTime(){
+        return isFinished ? (endTime - startTime) : 0;
+    }
+}
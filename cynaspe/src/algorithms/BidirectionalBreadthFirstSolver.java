@@ -0,0 +1,208 @@
+package algorithms;
+
+import enums.TileStatus;
+import enums.WallDirection;
+import model.INeighborVisitor;
+import model.MazeModel;
+import model.SolverState;
+import utils.Helpers;
+
+/**
+ * Bidirectional BFS algorithm to find the shortest path through the maze.
+ * <p>
+ * This class extends {@code Solver} and implements the {@code ISolverAlgorithm}
+ * interface. Two BFS run at the same time, one from the start tile and one from the end tile,
+ * a whole level at a time, always on the side with the smaller frontier. They stop as soon as a tile
+ * reached by one search is reached by the other, the path is then the path of each search to that tile.
+ * The tiles visited are about the half of a BFS on a perfect maze, since each search only goes half the way.
+ * </p>
+ * <p>
+ * The search from the start uses the state of the solver, the search from the end has its own state,
+ * for the tiles it reached and their parent toward the end. Both searches show their tiles as visited.
+ * </p>
+ */
+public class BidirectionalBreadthFirstSolver extends Solver implements ISolverAlgorithm {
+
+    /** Bits allocated on the heap per tile, by the two queues when they hold every tile */
+    public static final int HEAP_BITS_PER_CELL = Integer.SIZE;
+
+    /** Queue of the cells to expand by the search from the start */
+    private final CellQueue forwardQueue = new CellQueue();
+
+    /** Queue of the cells to expand by the search from the end */
+    private final CellQueue backwardQueue = new CellQueue();
+
+    /** Tiles reached by the search from the end, and their parent toward the end */
+    private final SolverState backwardState;
+
+    /** {@code true} if the level being expanded is the one of the search from the start */
+    private boolean forwardTurn = true;
+
+    /** Number of cells of the level being expanded left to expand */
+    private int levelRemaining = 0;
+
+    /** Cell reached by both searches, {@code -1} until they meet */
+    private int meetCell = -1;
+
+    /** Cell to trace the path from the meeting cell to the end, {@code -1} if there is none */
+    private int backwardPathStep = -1;
+
+    /** Visitor called on each accessible neighbor of a tile expanded by the search from the start, created once */
+    private final INeighborVisitor forwardVisitor = this::visitForward;
+
+    /** Visitor called on each accessible neighbor of a tile expanded by the search from the end, created once */
+    private final INeighborVisitor backwardVisitor = this::visitBackward;
+
+    /**
+     * Constructor for the bidirectional BFS solver algorithm
+     * @param maze The maze used to solve
+     */
+    public BidirectionalBreadthFirstSolver(MazeModel maze) {
+        super(maze, true);
+        maze.checkHeapFootprint(HEAP_BITS_PER_CELL);
+        backwardState = maze.createSolverState();
+
+        int start = maze.getStartCell();
+        int end = maze.getEndCell();
+        forwardQueue.add(start);
+        backwardState.setReached(end, true);
+
+        // Start the timer
+        startTime = System.currentTimeMillis();
+
+        if (start == end) {
+            meet(start);
+            return;
+        }
+        visitedCount++;
+        backwardQueue.add(end);
+    }
+
+    @Override
+    public boolean step() {
+        // If the algorithm has finished, trace the path from the meeting cell to the start, then to the end
+        if (isFinished) {
+            if (pathStep != -1) {
+                state.setStatus(pathStep, TileStatus.PATH);
+                pathCount++;
+                pathStep = getParent(pathStep);
+                return pathStep == -1 && backwardPathStep == -1;
+            }
+            if (backwardPathStep != -1) {
+                state.setStatus(backwardPathStep, TileStatus.PATH);
+                pathCount++;
+                backwardPathStep = getBackwardParent(backwardPathStep);
+                return backwardPathStep == -1;
+            }
+            return true;
+        }
+
+        // Start the next level, on the side with the smaller frontier
+        if (levelRemaining == 0) {
+            if (forwardQueue.isEmpty() || backwardQueue.isEmpty()) {
+                // One search can't go further, there's no path
+                isFinished = true;
+                endTime = System.currentTimeMillis();
+                return true;
+            }
+            forwardTurn = forwardQueue.size() <= backwardQueue.size();
+            levelRemaining = forwardTurn ? forwardQueue.size() : backwardQueue.size();
+        }
+
+        // Expand the next tile of the level
+        levelRemaining--;
+        if (forwardTurn) maze.forEachAccessibleNeighbor(forwardQueue.poll(), forwardVisitor);
+        else maze.forEachAccessibleNeighbor(backwardQueue.poll(), backwardVisitor);
+
+        // return false because we have to do the path tracing
+        if (meetCell != -1) meet(meetCell);
+        return false;
+    }
+
+    /**
+     * End the search, the path goes through a cell reached by both searches
+     * @param cell
+     * The meeting cell
+     */
+    private void meet(int cell){
+        isFinished = true;
+        endTime = System.currentTimeMillis();
+        pathStep = cell;
+        backwardPathStep = getBackwardParent(cell);
+    }
+
+    /**
+     * Get the next cell toward the end in the search from the end
+     * @param cell
+     * The cell reached by the search from the end
+     * @return
+     * A {@code int} of the parent cell, {@code -1} if the cell is the end cell
+     */
+    private int getBackwardParent(int cell){
+        return cell == maze.getEndCell() ? -1 : maze.getNeighborCell(cell, backwardState.getParentDirection(cell));
+    }
+
+    /**
+     * Visit an accessible neighbor of a tile expanded by the search from the start
+     * @param neighbor
+     * The cell id of the neighbor
+     * @param direction
+     * The direction to go from the expanded tile to the neighbor
+     */
+    private void visitForward(int neighbor, WallDirection direction){
+        // The searches have already met, or the neighbor has already been reached from the start
+        if (meetCell != -1 || state.isReached(neighbor)) return;
+
+        markVisited(neighbor, Helpers.getOppositeDirection(direction));
+        if (backwardState.isReached(neighbor)) {
+            // Already counted by the search from the end
+            visitedCount--;
+            meetCell = neighbor;
+            return;
+        }
+        state.setStatus(neighbor, TileStatus.VISITED);
+        forwardQueue.add(neighbor);
+    }
+
+    /**
+     * Visit an accessible neighbor of a tile expanded by the search from the end
+     * @param neighbor
+     * The cell id of the neighbor
+     * @param direction
+     * The direction to go from the expanded tile to the neighbor
+     */
+    private void visitBackward(int neighbor, WallDirection direction){
+        // The searches have already met, or the neighbor has already been reached from the end
+        if (meetCell != -1 || backwardState.isReached(neighbor)) return;
+
+        backwardState.setReached(neighbor, true);
+        backwardState.setParentDirection(neighbor, Helpers.getOppositeDirection(direction));
+        if (state.isReached(neighbor)) {
+            meetCell = neighbor;
+            return;
+        }
+        visitedCount++;
+        state.setStatus(neighbor, TileStatus.VISITED);
+        backwardQueue.add(neighbor);
+    }
+
+    @Override
+    public int getVisitedCount() {
+        return visitedCount;
+    }
+
+    @Override
+    public int getPathCount() {
+        return pathCount;
+    }
+
+    @Override
+    public boolean isComplete() {
+        return isFinished && pathStep == -1 && backwardPathStep == -1;
+    }
+
+    @Override
+    public long getExecutionTime(){
+        return isFinished ? (endTime - startTime) : 0;
+    }
+}
@@ -1,11 +1,11 @@
 package algorithms;
 
+import model.INeighborVisitor;
 import model.MazeModel;
-import model.TileModel;
-
-import java.util.*;
 
 import enums.TileStatus;
+import enums.WallDirection;
+import utils.Helpers;
 
 /**
  * BFS algorithm to find the shortest path through the maze.
@@ -17,21 +17,26 @@ import enums.TileStatus;
  */
 public class BreadthFirstSolver extends Solver implements ISolverAlgorithm {
 
-    /** Queue used to keep track of tiles to visit during the DFS algorithm */ 
-    private Queue<TileModel> queue = new LinkedList<>();
+    /** Bits allocated on the heap per tile, by the queue when it holds every tile */
+    public static final int HEAP_BITS_PER_CELL = Integer.SIZE;
+
+    /** Queue used to keep track of cells to visit during the BFS algorithm, a ring buffer of cell ids */ 
+    private final CellQueue queue = new CellQueue();
+
+    /** Visitor called on each accessible neighbor of the expanded tile, created once */
+    private final INeighborVisitor neighborVisitor = this::visitNeighbor;
 
     /**
      * Constuctor for the BFS solver algorithm
      * @param maze The maze used to solve
      */
     public BreadthFirstSolver(MazeModel maze) {
-        this.maze = maze;
+        // Mark the start tile as visited
+        super(maze, true);
+        maze.checkHeapFootprint(HEAP_BITS_PER_CELL);
 
         // Get the start tile of the maze and add it to the queue so the BFS can start
-        TileModel start = maze.getStartTile();
-        queue.add(start);
-        // Mark the start tile as visited
-        visited.add(start);
+        queue.add(maze.getStartCell());
         // Start the timer
         startTime = System.currentTimeMillis();
     }
@@ -39,25 +44,25 @@ public class BreadthFirstSolver extends Solver implements ISolverAlgorithm {
     @Override
     public boolean step() {
         // If the algorithm has finished, start tracing the path starting from the end tile
-        if (isFinished && pathStep != null) {
+        if (isFinished && pathStep != -1) {
             // Mark the current tile as being the path
-            pathStep.status = TileStatus.PATH;
+            state.setStatus(pathStep, TileStatus.PATH);
             pathCount++;
             // Move to the parent tile (previous step) in the path
-            pathStep = parentMap.get(pathStep);
+            pathStep = getParent(pathStep);
             // True if path tracing has finished (no more parents)
-            return pathStep == null;
+            return pathStep == -1;
         }
 
         if (!isFinished) {
             // If there are tiles left to go
             if (!queue.isEmpty()) {
                 // Dequeue the next tile to go
-                TileModel current = queue.poll();
+                int current = queue.poll();
 
                 // If the current tile is the end tile
                 // The algoritm has finished
-                if (current.equals(maze.getEndTile())) {
+                if (current == maze.getEndCell()) {
                     isFinished = true;
                     endTime = System.currentTimeMillis();
                     pathStep = current;
@@ -66,18 +71,7 @@ public class BreadthFirstSolver extends Solver implements ISolverAlgorithm {
                 }
 
                 // Loop over the accessible neigbhors of the tile
-                for (TileModel neighbor : maze.getAccessibleNeighbors(current)) {
-                    // If the neighbor wasn't been visited
-                    if (!visited.contains(neighbor)) {
-                        // Add that the neighbor has been visited
-                        visited.add(neighbor);
-                        neighbor.status = TileStatus.VISITED;
-                        // Add the neigbhor to be explored later
-                        queue.add(neighbor);
-                        // Track that we went to this neighbor with the current tile
-                        parentMap.put(neighbor, current);
-                    }
-                }
+                maze.forEachAccessibleNeighbor(current, neighborVisitor);
 
                 // Algorithm is still going
                 return false;
@@ -92,9 +86,28 @@ public class BreadthFirstSolver extends Solver implements ISolverAlgorithm {
         return true;
     }
 
+    /**
+     * Visit an accessible neighbor of the expanded tile
+     * @param neighbor
+     * The cell id of the neighbor
+     * @param direction
+     * The direction to go from the expanded tile to the neighbor
+     */
+    private void visitNeighbor(int neighbor, WallDirection direction){
+        // If the neighbor wasn't been visited
+        if (!state.isReached(neighbor)) {
+            // Add that the neighbor has been visited
+            // Track that we went to this neighbor with the current tile
+            markVisited(neighbor, Helpers.getOppositeDirection(direction));
+            state.setStatus(neighbor, TileStatus.VISITED);
+            // Add the neigbhor to be explored later
+            queue.add(neighbor);
+        }
+    }
+
     @Override
     public int getVisitedCount() {
-        return visited.size();
+        return visitedCount;
     }
 
     @Override
@@ -104,7 +117,7 @@ public class BreadthFirstSolver extends Solver implements ISolverAlgorithm {
 
     @Override
     public boolean isComplete() {
-        return isFinished && pathStep == null;
+        return isFinished && pathStep == -1;
     }
 
     @Override
@@ -0,0 +1,104 @@
+package algorithms;
+
+/**
+ * Monotone priority queue of cell ids with small integer keys, in buckets.
+ * <p>
+ * Each key has a bucket, a {@code CellStack}, and the lowest key is found by moving a cursor forward.
+ * The keys added must be between the lowest key and the lowest key plus a span known in advance,
+ * so only {@code span + 1} buckets are used at a time, kept in a ring.
+ * Adding and removing a cell are then O(1) with no comparison.
+ * The cells with the same key come out last in, first out.
+ * </p>
+ */
+class CellBucketQueue {
+    /**
+     * The buckets of the keys, the key {@code k} is in the bucket {@code k & mask}.
+     */
+    private final CellStack[] buckets;
+
+    /**
+     * Mask of the index of a bucket, the number of buckets is a power of two.
+     */
+    private final int mask;
+
+    /**
+     * The largest difference between the key added and the lowest key.
+     */
+    private final int span;
+
+    /**
+     * The lowest key of the queue, or the last key removed when it is empty.
+     */
+    private int minKey = 0;
+
+    /**
+     * Number of cells in the queue.
+     */
+    private int size = 0;
+
+    /**
+     * Construct an empty queue
+     * @param span
+     * The largest difference between a key added and the lowest key of the queue
+     */
+    CellBucketQueue(int span){
+        if (span < 0 || span > 1 << 20) throw new IllegalArgumentException("Span must be between 0 and " + (1 << 20));
+        // More buckets than keys used at a time, in a power of two
+        int count = Integer.highestOneBit(Math.max(span, 1)) << 1;
+        buckets = new CellStack[count];
+        for (int i = 0; i < count; i++){
+            buckets[i] = new CellStack();
+        }
+        this.mask = count - 1;
+        this.span = span;
+    }
+
+    /**
+     * Check if the queue is empty
+     * @return
+     * {@code true} if there's no cell, {@code false} if not
+     */
+    boolean isEmpty(){
+        return size == 0;
+    }
+
+    /**
+     * Add a cell, a cell can be added several times
+     * @param cell
+     * The cell id
+     * @param key
+     * The key of the cell, between the lowest key and the lowest key plus the span if the queue isn't empty
+     */
+    void add(int cell, int key){
+        if (key < minKey || key - minKey > span) {
+            // An empty queue takes any key, otherwise the cursor keeps the last key removed,
+            // the cells added next may still have that key
+            if (size != 0) throw new IllegalArgumentException("Key " + key + " must be between " + minKey + " and " + (minKey + span));
+            minKey = key;
+        }
+        buckets[key & mask].push(cell);
+        size++;
+    }
+
+    /**
+     * Get the lowest key of the queue
+     * @return
+     * A {@code int} of the key of the next cell removed
+     */
+    int getMinKey(){
+        if (size == 0) throw new IllegalStateException("The queue is empty");
+        while (buckets[minKey & mask].isEmpty()) minKey++;
+        return minKey;
+    }
+
+    /**
+     * Remove a cell with the lowest key
+     * @return
+     * A {@code int} of the cell id
+     */
+    int poll(){
+        int key = getMinKey();
+        size--;
+        return buckets[key & mask].pop();
+    }
+}
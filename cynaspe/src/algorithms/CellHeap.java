@@ -0,0 +1,143 @@
+package algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Indexed binary min-heap of cell ids, ordered by a key of each cell, in an array of {@code int}.
+ * <p>
+ * The keys are read in an array owned by the solver, at each comparison. The heap keeps the position
+ * of each cell, so a cell is in the heap at most once: when its key gets lower, it is moved up
+ * with {@code decreaseKey} instead of being added again. Adding, removing and decreasing are O(log n),
+ * and no object is created per cell.
+ * </p>
+ */
+class CellHeap {
+    /**
+     * The key of each cell, a lower key comes out first.
+     */
+    private final int[] keys;
+
+    /**
+     * The index of each cell in the heap plus one, {@code 0} if the cell isn't in the heap.
+     */
+    private final int[] positions;
+
+    /**
+     * The cells of the heap, a cell has a key lower or equal to the keys of its two children.
+     */
+    private int[] heap = new int[64];
+
+    /**
+     * Number of cells in the heap.
+     */
+    private int size = 0;
+
+    /**
+     * Construct an empty heap
+     * @param keys
+     * The key of each cell, read at each comparison
+     */
+    CellHeap(int[] keys){
+        this.keys = keys;
+        this.positions = new int[keys.length];
+    }
+
+    /**
+     * Check if the heap is empty
+     * @return
+     * {@code true} if there's no cell, {@code false} if not
+     */
+    boolean isEmpty(){
+        return size == 0;
+    }
+
+    /**
+     * Check if a cell is in the heap
+     * @param cell
+     * The cell id
+     * @return
+     * {@code true} if the cell is in the heap, {@code false} if not
+     */
+    boolean contains(int cell){
+        return positions[cell] != 0;
+    }
+
+    /**
+     * Add a cell that isn't in the heap
+     * @param cell
+     * The cell id
+     */
+    void add(int cell){
+        if (positions[cell] != 0) throw new IllegalArgumentException("Cell " + cell + " is already in the heap");
+        if (size == heap.length) heap = Arrays.copyOf(heap, size * 2);
+        siftUp(cell, size++);
+    }
+
+    /**
+     * Move a cell of the heap up, after its key has been lowered
+     * @param cell
+     * The cell id
+     */
+    void decreaseKey(int cell){
+        if (positions[cell] == 0) throw new IllegalArgumentException("Cell " + cell + " isn't in the heap");
+        siftUp(cell, positions[cell] - 1);
+    }
+
+    /**
+     * Remove the cell with the lowest key
+     * @return
+     * A {@code int} of the cell id
+     */
+    int poll(){
+        if (size == 0) throw new IllegalStateException("The heap is empty");
+        int result = heap[0];
+        positions[result] = 0;
+        int last = heap[--size];
+        if (size > 0){
+            // Move the smaller child up until the place of the last cell is found
+            int key = keys[last];
+            int index = 0;
+            int half = size >>> 1;
+            while (index < half){
+                int child = 2 * index + 1;
+                int right = child + 1;
+                if (right < size && keys[heap[child]] > keys[heap[right]]) child = right;
+                if (key <= keys[heap[child]]) break;
+                place(heap[child], index);
+                index = child;
+            }
+            place(last, index);
+        }
+        return result;
+    }
+
+    /**
+     * Move the parents of an index down until the place of a cell is found
+     * @param cell
+     * The cell id
+     * @param index
+     * The index where the cell starts
+     */
+    private void siftUp(int cell, int index){
+        int key = keys[cell];
+        while (index > 0){
+            int parent = (index - 1) >>> 1;
+            if (key >= keys[heap[parent]]) break;
+            place(heap[parent], index);
+            index = parent;
+        }
+        place(cell, index);
+    }
+
+    /**
+     * Put a cell at an index of the heap
+     * @param cell
+     * The cell id
+     * @param index
+     * The index in the heap
+     */
+    private void place(int cell, int index){
+        heap[index] = cell;
+        positions[cell] = index + 1;
+    }
+}
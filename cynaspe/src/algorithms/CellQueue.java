@@ -0,0 +1,90 @@
+package algorithms;
+
+/**
+ * First-in first-out queue of cell ids, in a ring buffer of {@code int}.
+ * <p>
+ * The buffer doubles when it is full, so its size follows the largest frontier of the solver
+ * and not the size of the maze, and no object is created per cell.
+ * </p>
+ */
+class CellQueue {
+    /**
+     * The cells of the queue, from head to tail, wrapping at the end of the buffer.
+     * The length is a power of two.
+     */
+    private int[] buffer = new int[64];
+
+    /**
+     * Position of the first cell.
+     */
+    private int head = 0;
+
+    /**
+     * Number of cells in the queue.
+     */
+    private int size = 0;
+
+    /**
+     * Check if the queue is empty
+     * @return
+     * {@code true} if there's no cell, {@code false} if not
+     */
+    boolean isEmpty(){
+        return size == 0;
+    }
+
+    /**
+     * Get the number of cells in the queue
+     * @return
+     * A {@code int} of the number of cells
+     */
+    int size(){
+        return size;
+    }
+
+    /**
+     * Add a cell at the tail of the queue
+     * @param cell
+     * The cell id
+     */
+    void add(int cell){
+        if (size == buffer.length) grow();
+        buffer[(head + size) & (buffer.length - 1)] = cell;
+        size++;
+    }
+
+    /**
+     * Remove the cell at the head of the queue
+     * @return
+     * A {@code int} of the cell id
+     */
+    int poll(){
+        if (size == 0) throw new IllegalStateException("The queue is empty");
+        int cell = buffer[head];
+        head = (head + 1) & (buffer.length - 1);
+        size--;
+        return cell;
+    }
+
+    /**
+     * Remove every cell, the buffer is kept
+     */
+    void clear(){
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Double the buffer, the cells are moved to its start
+     */
+    private void grow(){
+        if (buffer.length > Integer.MAX_VALUE / 2) throw new IllegalStateException("The queue is too large");
+        int[] larger = new int[buffer.length * 2];
+        // The cells from the head to the end of the buffer, then the cells wrapped before the head
+        int first = buffer.length - head;
+        System.arraycopy(buffer, head, larger, 0, first);
+        System.arraycopy(buffer, 0, larger, first, head);
+        buffer = larger;
+        head = 0;
+    }
+}
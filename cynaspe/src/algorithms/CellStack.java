@@ -0,0 +1,51 @@
+package algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Last-in first-out stack of cell ids, in an array of {@code int}.
+ * <p>
+ * The array doubles when it is full, no object is created per cell
+ * and, unlike {@code java.util.Stack}, no lock is taken.
+ * </p>
+ */
+class CellStack {
+    /**
+     * The cells of the stack, the top is at {@code size - 1}.
+     */
+    private int[] cells = new int[64];
+
+    /**
+     * Number of cells in the stack.
+     */
+    private int size = 0;
+
+    /**
+     * Check if the stack is empty
+     * @return
+     * {@code true} if there's no cell, {@code false} if not
+     */
+    boolean isEmpty(){
+        return size == 0;
+    }
+
+    /**
+     * Put a cell on the top of the stack
+     * @param cell
+     * The cell id
+     */
+    void push(int cell){
+        if (size == cells.length) cells = Arrays.copyOf(cells, size * 2);
+        cells[size++] = cell;
+    }
+
+    /**
+     * Remove the cell on the top of the stack
+     * @return
+     * A {@code int} of the cell id
+     */
+    int pop(){
+        if (size == 0) throw new IllegalStateException("The stack is empty");
+        return cells[--size];
+    }
+}
@@ -1,14 +1,10 @@
 package algorithms;
 
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.PriorityQueue;
-
 import enums.TileStatus;
+import enums.WallDirection;
+import model.INeighborVisitor;
 import model.MazeModel;
-import model.TileModel;
+import utils.Helpers;
 
 /**
  * Dijkstra's algorithm to find the shortest path in a maze.
@@ -17,34 +13,60 @@ import model.TileModel;
  * interface, using a priority queue to explore the maze based on the shortest known distances
  * from the start tile to each other tile.
  * </p>
+ * <p>
+ * Each tile can have a cost, added to the distance when the path enters the tile, so the path found
+ * is the cheapest one and not only the shortest, which BFS can't do. Without costs every tile costs 1.
+ * The queue is an indexed heap, a tile is in it at most once and is moved up when a shorter distance is found.
+ * The distance of a tile is only written when the tile is reached, the array isn't filled before.
+ * </p>
  */
 public class DjikstraSolver extends Solver implements ISolverAlgorithm {
-    /** The distance from the start to each tile */ 
-    private Map<TileModel, Integer> distance;
-    /** Queue used to always expand the closest unvisited tile next */ 
-    private PriorityQueue<TileModel> queue;
+    /** Bits allocated on the heap per tile, by the distances, the positions in the heap and the heap when it holds every tile */
+    public static final int HEAP_BITS_PER_CELL = 3 * Integer.SIZE;
+
+    /** The distance from the start to each cell, only set once the cell is in the queue */ 
+    private int[] distance;
+    /** The cost of entering each cell, {@code null} if every cell costs 1 */
+    private final int[] tileCosts;
+    /** Queue used to always expand the closest unvisited cell next, each cell is in it at most once */ 
+    private CellHeap queue;
+    /** Distance of the tile being expanded */
+    private int currentDistance;
+    /** Visitor called on each accessible neighbor of the expanded tile, created once */
+    private final INeighborVisitor neighborVisitor = this::visitNeighbor;
 
     /**
-     * Constructor for a Dijkstra solver.
+     * Constructor for a Dijkstra solver, every tile costs 1.
      * @param maze the maze to be solved
      */
     public DjikstraSolver(MazeModel maze) {
-        this.maze = maze;
-
-        distance = new HashMap<>();
-        parentMap = new HashMap<>();
-        visited = new HashSet<>();
-        queue = new PriorityQueue<>(Comparator.comparingInt(distance::get));
+        this(maze, null);
+    }
 
-        for (int r = 0; r < maze.numRows; r++) {
-            for (int c = 0; c < maze.numCols; c++) {
-                TileModel tile = maze.tiles[r][c];
-                distance.put(tile, Integer.MAX_VALUE);
+    /**
+     * Constructor for a Dijkstra solver on weighted tiles.
+     * @param maze the maze to be solved
+     * @param tileCosts the cost of entering each tile, by cell id, {@code null} if every tile costs 1
+     */
+    public DjikstraSolver(MazeModel maze, int[] tileCosts) {
+        super(maze);
+        maze.checkHeapFootprint(HEAP_BITS_PER_CELL);
+
+        if (tileCosts != null) {
+            if (tileCosts.length != maze.getCellCount()) throw new IllegalArgumentException("There must be one cost per tile");
+            // The distance of a path through every tile must fit in an int
+            int maxCost = Integer.MAX_VALUE / maze.getCellCount();
+            for (int cost : tileCosts){
+                if (cost < 0 || cost > maxCost) throw new IllegalArgumentException("The cost of a tile must be between 0 and " + maxCost);
             }
         }
+        this.tileCosts = tileCosts;
+
+        distance = new int[maze.getCellCount()];
+        queue = new CellHeap(distance);
 
-        TileModel start = maze.getStartTile();
-        distance.put(start, 0);
+        int start = maze.getStartCell();
+        distance[start] = 0;
         queue.add(start);
 
         startTime = System.currentTimeMillis();
@@ -54,38 +76,29 @@ public class DjikstraSolver extends Solver implements ISolverAlgorithm {
     public boolean step(){
         
 
-        if (isFinished && pathStep != null) {
-            if (parentMap.containsKey(pathStep)) {
-                pathStep.status = TileStatus.PATH;
-                pathCount++;
-                pathStep = parentMap.get(pathStep);
-                return false; // Continue tracing
-            } else {
-                // Reached the start tile
-                if (pathStep == maze.getStartTile()) {
-                    pathStep.status = TileStatus.PATH;
-                    pathCount++;
-                }
-                pathStep = null;
-                return true;
-            }
+        // If the algorithm has finished, start tracing the path starting from the end tile
+        if (isFinished && pathStep != -1) {
+            // Mark the current tile as being the path
+            state.setStatus(pathStep, TileStatus.PATH);
+            pathCount++;
+            // Move to the parent tile (previous step) in the path
+            pathStep = getParent(pathStep);
+            // True if path tracing has finished (no more parents)
+            return pathStep == -1;
         }
 
         if (!isFinished) {
             if (!queue.isEmpty()) {
-                // Get the tile with the shortest distance
-                TileModel current = queue.poll();
-
-                // If it has been already visited, skip it
-                if (visited.contains(current)) return false;
+                // Get the tile with the shortest distance, it is only once in the queue
+                int current = queue.poll();
     
                 // Mark that this tile has been visited
-                visited.add(current);
-                current.status = TileStatus.VISITED;
+                markVisited(current, null);
+                state.setStatus(current, TileStatus.VISITED);
     
                 // If the current tile is the end tile
                 // The algoritm has finished
-                if (current.equals(maze.getEndTile())) {
+                if (current == maze.getEndCell()) {
                     isFinished = true;
                     endTime = System.currentTimeMillis();
                     pathStep = current;
@@ -94,21 +107,8 @@ public class DjikstraSolver extends Solver implements ISolverAlgorithm {
                 }
     
                 // Loop over the accessible neigbhors of the tile
-                for (TileModel neighbor : maze.getAccessibleNeighbors(current)) {
-                    // If the neighbor has already been visited, skip
-                    if (visited.contains(neighbor)) continue;
-    
-                    // Calculate the distance to neighbor at the current tile
-                    int alt = distance.get(current) + 1;
-
-                    // If the path to neighbor is shorter, update the parent and distance
-                    if (alt < distance.get(neighbor)) {
-                        distance.put(neighbor, alt);
-                        parentMap.put(neighbor, current);
-                        // Add neigbhor so that it's explored later
-                        queue.add(neighbor);
-                    }
-                }
+                currentDistance = distance[current];
+                maze.forEachAccessibleNeighbor(current, neighborVisitor);
                 
                 // Continue the algorithm
                 return false;
@@ -116,17 +116,53 @@ public class DjikstraSolver extends Solver implements ISolverAlgorithm {
                 // No more tiles to explore, and end not reached
                 isFinished = true;
                 endTime = System.currentTimeMillis();
-                pathStep = maze.getEndTile();
-                return false;
+                return true;
             }
         }
         // Algorithm and path tracing has been finished
         return true;
     }
 
+    /**
+     * Visit an accessible neighbor of the expanded tile
+     * @param neighbor
+     * The cell id of the neighbor
+     * @param direction
+     * The direction to go from the expanded tile to the neighbor
+     */
+    private void visitNeighbor(int neighbor, WallDirection direction){
+        // If the neighbor has already been visited, skip
+        if (state.isReached(neighbor)) return;
+
+        // Calculate the distance to neighbor at the current tile
+        int alt = currentDistance + (tileCosts == null ? 1 : tileCosts[neighbor]);
+
+        if (!queue.contains(neighbor)) {
+            // First time the neighbor is reached, its distance is set now
+            distance[neighbor] = alt;
+            state.setParentDirection(neighbor, Helpers.getOppositeDirection(direction));
+            // Add neigbhor so that it's explored later
+            queue.add(neighbor);
+        } else if (alt < distance[neighbor]) {
+            // If the path to neighbor is shorter, update the parent and distance
+            distance[neighbor] = alt;
+            state.setParentDirection(neighbor, Helpers.getOppositeDirection(direction));
+            queue.decreaseKey(neighbor);
+        }
+    }
+
+    /**
+     * Get the distance of the path found, the sum of the costs of its tiles except the start tile
+     * @return
+     * A {@code int} of the distance from the start to the end, {@code -1} if the end hasn't been reached
+     */
+    public int getPathCost(){
+        return state.isReached(maze.getEndCell()) ? distance[maze.getEndCell()] : -1;
+    }
+
     @Override
     public int getVisitedCount(){
-        return visited.size();
+        return visitedCount;
     }
 
     @Override
@@ -136,7 +172,7 @@ public class DjikstraSolver extends Solver implements ISolverAlgorithm {
 
     @Override
     public boolean isComplete() {
-        return isFinished && pathStep == null;
+        return isFinished && pathStep == -1;
     }
 
     @Override
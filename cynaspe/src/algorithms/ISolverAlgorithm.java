@@ -1,5 +1,7 @@
 package algorithms;
 
+import model.SolverState;
+
 /**
  * Interface for maze solver algorithms.
  * <p>
@@ -40,4 +42,10 @@ public interface ISolverAlgorithm {
      * A {@code long} that represent the execution time
      */
     public long getExecutionTime();
+    /**
+     * Get the state of the tiles for the algorithm
+     * @return
+     * The {@code SolverState} holding the status of each tile
+     */
+    public SolverState getSolverState();
 }
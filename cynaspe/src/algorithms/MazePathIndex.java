@@ -0,0 +1,176 @@
+package algorithms;
+
+import java.util.Arrays;
+
+import enums.WallDirection;
+import model.MazeModel;
+
+/**
+ * Index of the paths of a perfect maze, to find the path between any two tiles without a search.
+ * <p>
+ * A perfect maze is a spanning tree of its tiles, the only path between two tiles goes through their
+ * lowest common ancestor when the tree is rooted. The index is built once by a BFS from the first tile,
+ * which stores the parent and the depth of each tile. Each tile also has a jump pointer to one of its
+ * ancestors, chosen from the jump of its parent so that any ancestor is reached in O(log n) jumps,
+ * like binary lifting but with a single pointer per tile instead of one per power of two.
+ * </p>
+ * <p>
+ * The distance between two tiles is then found in O(log n), and the path itself in O(length).
+ * The index isn't updated when the maze changes, a new one has to be built.
+ * </p>
+ */
+public class MazePathIndex {
+    /** Bits allocated on the heap per tile, by the parents, the depths, the jumps and the order of the BFS */
+    public static final int HEAP_BITS_PER_CELL = 4 * Integer.SIZE;
+
+    /** The directions, by ordinal */
+    private static final WallDirection[] DIRECTIONS = WallDirection.values();
+
+    /** The parent of each cell toward the root, {@code -1} for the root */
+    private final int[] parent;
+
+    /** The number of tiles between each cell and the root */
+    private final int[] depth;
+
+    /** An ancestor of each cell, the root for the root */
+    private final int[] jump;
+
+    /**
+     * Build the index of a perfect maze
+     * @param maze
+     * The maze, every tile must be reachable by exactly one path
+     */
+    public MazePathIndex(MazeModel maze) {
+        if (maze == null) throw new IllegalArgumentException("Maze cannot be null");
+        maze.checkHeapFootprint(HEAP_BITS_PER_CELL);
+
+        int cellCount = maze.getCellCount();
+        parent = new int[cellCount];
+        depth = new int[cellCount];
+        jump = new int[cellCount];
+        Arrays.fill(depth, -1);
+
+        // BFS from the root, the order of the cells is also the queue
+        int[] order = new int[cellCount];
+        int root = 0;
+        order[0] = root;
+        parent[root] = -1;
+        depth[root] = 0;
+        jump[root] = root;
+        int size = 1;
+        for (int head = 0; head < size; head++){
+            int cell = order[head];
+            int open = maze.getOpenDirections(cell);
+            for (WallDirection direction : DIRECTIONS){
+                if ((open & (1 << direction.ordinal())) == 0) continue;
+                int neighbor = maze.getNeighborCell(cell, direction);
+                if (neighbor == parent[cell]) continue;
+                // A second path to a tile is a loop
+                if (depth[neighbor] != -1) throw new IllegalArgumentException("The maze must be perfect, it has a loop");
+
+                parent[neighbor] = cell;
+                depth[neighbor] = depth[cell] + 1;
+                // Skip two jumps of the same length at once, or go to the parent
+                int parentJump = jump[cell];
+                jump[neighbor] = depth[cell] - depth[parentJump] == depth[parentJump] - depth[jump[parentJump]]
+                    ? jump[parentJump] : cell;
+                order[size++] = neighbor;
+            }
+        }
+        if (size != cellCount) throw new IllegalArgumentException("The maze must be perfect, some tiles can't be reached");
+    }
+
+    /**
+     * Get the ancestor of a cell at a depth
+     * @param cell
+     * The cell id
+     * @param targetDepth
+     * The depth of the ancestor, not more than the depth of the cell
+     * @return
+     * A {@code int} of the cell id of the ancestor
+     */
+    private int getAncestor(int cell, int targetDepth){
+        while (depth[cell] > targetDepth){
+            cell = depth[jump[cell]] >= targetDepth ? jump[cell] : parent[cell];
+        }
+        return cell;
+    }
+
+    /**
+     * Get the lowest common ancestor of two cells, the tile where their path turns back
+     * @param cell1
+     * The first cell id
+     * @param cell2
+     * The second cell id
+     * @return
+     * A {@code int} of the cell id of the ancestor
+     */
+    public int getCommonAncestor(int cell1, int cell2){
+        checkCell(cell1);
+        checkCell(cell2);
+        // Go up to the same depth
+        if (depth[cell1] > depth[cell2]) cell1 = getAncestor(cell1, depth[cell2]);
+        else cell2 = getAncestor(cell2, depth[cell1]);
+
+        // The jump of a cell only depends on its depth, the two cells jump together
+        while (cell1 != cell2){
+            if (jump[cell1] != jump[cell2]) {
+                cell1 = jump[cell1];
+                cell2 = jump[cell2];
+            } else {
+                cell1 = parent[cell1];
+                cell2 = parent[cell2];
+            }
+        }
+        return cell1;
+    }
+
+    /**
+     * Get the number of moves between two tiles
+     * @param from
+     * The cell id of the first tile
+     * @param to
+     * The cell id of the second tile
+     * @return
+     * A {@code int} of the number of moves, the path has one more tile
+     */
+    public int getDistance(int from, int to){
+        int ancestor = getCommonAncestor(from, to);
+        return depth[from] + depth[to] - 2 * depth[ancestor];
+    }
+
+    /**
+     * Get the path between two tiles
+     * @param from
+     * The cell id of the first tile
+     * @param to
+     * The cell id of the last tile
+     * @return
+     * A {@code int[]} of the cell ids of the path, from the first tile to the last one
+     */
+    public int[] getPath(int from, int to){
+        int ancestor = getCommonAncestor(from, to);
+        int[] path = new int[depth[from] + depth[to] - 2 * depth[ancestor] + 1];
+
+        // The start of the path goes up from the first tile, the end goes up from the last tile
+        int index = 0;
+        for (int cell = from; cell != ancestor; cell = parent[cell]){
+            path[index++] = cell;
+        }
+        path[index] = ancestor;
+        index = path.length - 1;
+        for (int cell = to; cell != ancestor; cell = parent[cell]){
+            path[index--] = cell;
+        }
+        return path;
+    }
+
+    /**
+     * Check if a cell id is in the maze
+     * @param cell
+     * The cell id
+     */
+    private void checkCell(int cell){
+        if (cell < 0 || cell >= depth.length) throw new IllegalArgumentException("Cell " + cell + " is outside the maze");
+    }
+}
@@ -0,0 +1,244 @@
+package algorithms;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+import enums.TileStatus;
+import enums.WallDirection;
+import model.MazeModel;
+import utils.Helpers;
+
+/**
+ * Level-synchronous BFS algorithm to find the shortest path through the maze, on several threads.
+ * <p>
+ * This class extends {@code Solver} and implements the {@code ISolverAlgorithm}
+ * interface. Each step expands a whole level of the BFS: the frontier is split in slices
+ * expanded by the workers of a {@code ForkJoinPool}, and the tiles they reach are the next frontier.
+ * A tile is claimed by setting its bit in an {@code AtomicLongArray}, only the worker that claimed it
+ * writes its parent and status in the state, so no lock is needed. The levels narrower than a slice
+ * are expanded on the calling thread, the pool is only used once the frontier gets wide.
+ * </p>
+ * <p>
+ * The path has the same length as the path of {@code BreadthFirstSolver}, but the tiles of the level of the end
+ * are all expanded, so the number of tiles visited can be a little higher. A level at a time is made for
+ * solving without the interface, as in the console, the path is still traced a tile at a time.
+ * </p>
+ */
+public class ParallelBreadthFirstSolver extends Solver implements ISolverAlgorithm {
+
+    /** Number of cells of the frontier expanded by a task */
+    private static final int SLICE_SIZE = 1024;
+
+    /** The directions, by ordinal */
+    private static final WallDirection[] DIRECTIONS = WallDirection.values();
+
+    /** The opposite of each direction, by ordinal */
+    private static final WallDirection[] OPPOSITES = new WallDirection[DIRECTIONS.length];
+
+    static {
+        for (WallDirection direction : DIRECTIONS){
+            OPPOSITES[direction.ordinal()] = Helpers.getOppositeDirection(direction);
+        }
+    }
+
+    /** The difference between the id of a cell and the id of its neighbor, by ordinal of the direction */
+    private final int[] neighborOffsets = new int[DIRECTIONS.length];
+
+    /** The bit of each cell is set once the cell has been claimed by a worker */
+    private final AtomicLongArray claimed;
+
+    /** The number of threads used */
+    private final int parallelism;
+
+    /** The pool expanding the wide levels, created at the first one and shut down at the end */
+    private ForkJoinPool pool;
+
+    /** The cells of the level being expanded */
+    private int[] frontier;
+
+    /** Number of cells of the level being expanded */
+    private int frontierSize;
+
+    /** The cells reached while expanding the level, the next level */
+    private int[] next;
+
+    /** Number of cells of the next level, shared by the workers */
+    private final AtomicInteger nextSize = new AtomicInteger();
+
+    /** Cells reached by a slice, one buffer per thread, copied in the next level at the end of the slice */
+    private final ThreadLocal<int[]> sliceBuffer = ThreadLocal.withInitial(() -> new int[4 * SLICE_SIZE]);
+
+    /**
+     * Constructor for the parallel BFS solver algorithm, using every core
+     * @param maze The maze used to solve
+     */
+    public ParallelBreadthFirstSolver(MazeModel maze) {
+        this(maze, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor for the parallel BFS solver algorithm
+     * @param maze The maze used to solve
+     * @param parallelism The number of threads to use, it doesn't change the length of the path
+     */
+    public ParallelBreadthFirstSolver(MazeModel maze, int parallelism) {
+        super(maze, true);
+        if (parallelism <= 0) throw new IllegalArgumentException("Parallelism must be positive");
+        this.parallelism = parallelism;
+
+        neighborOffsets[WallDirection.TOP.ordinal()] = -maze.numCols;
+        neighborOffsets[WallDirection.RIGHT.ordinal()] = 1;
+        neighborOffsets[WallDirection.BOTTOM.ordinal()] = maze.numCols;
+        neighborOffsets[WallDirection.LEFT.ordinal()] = -1;
+        claimed = new AtomicLongArray((maze.getCellCount() + 63) >>> 6);
+        frontier = new int[SLICE_SIZE];
+        next = new int[SLICE_SIZE];
+
+        // The start tile is the first level
+        int start = maze.getStartCell();
+        claim(start);
+        frontier[frontierSize++] = start;
+        // Start the timer
+        startTime = System.currentTimeMillis();
+    }
+
+    @Override
+    public boolean step() {
+        // If the algorithm has finished, start tracing the path starting from the end tile
+        if (isFinished && pathStep != -1) {
+            state.setStatus(pathStep, TileStatus.PATH);
+            pathCount++;
+            pathStep = getParent(pathStep);
+            return pathStep == -1;
+        }
+
+        if (!isFinished) {
+            // The end tile has been reached in the last level, or there are no tiles left to go
+            if (isClaimed(maze.getEndCell()) || frontierSize == 0) {
+                isFinished = true;
+                endTime = System.currentTimeMillis();
+                if (pool != null) {
+                    pool.shutdown();
+                    pool = null;
+                }
+                if (frontierSize == 0 && !isClaimed(maze.getEndCell())) return true;
+                pathStep = maze.getEndCell();
+                // return false because we have to do the path tracing
+                return false;
+            }
+
+            expandLevel();
+            return false;
+        }
+        // End the algorithm
+        return true;
+    }
+
+    /**
+     * Expand every cell of the frontier, the cells reached become the frontier
+     */
+    private void expandLevel(){
+        // A cell reaches 3 new cells at most, 4 for the start cell
+        int capacity = (int) Math.min((long) frontierSize * 4, maze.getCellCount());
+        if (next.length < capacity) next = new int[capacity];
+        nextSize.set(0);
+
+        int sliceCount = (frontierSize + SLICE_SIZE - 1) / SLICE_SIZE;
+        if (sliceCount == 1 || parallelism == 1) {
+            for (int slice = 0; slice < sliceCount; slice++){
+                expandSlice(slice);
+            }
+        } else {
+            if (pool == null) pool = new ForkJoinPool(parallelism);
+            pool.submit(() -> IntStream.range(0, sliceCount).parallel().forEach(this::expandSlice)).join();
+        }
+
+        // The next level becomes the frontier, the arrays are swapped to be reused
+        int[] expanded = frontier;
+        frontier = next;
+        next = expanded;
+        frontierSize = nextSize.get();
+        visitedCount += frontierSize;
+    }
+
+    /**
+     * Expand a slice of the frontier, called by a worker or by the calling thread
+     * @param slice
+     * The index of the slice, the cells from {@code slice * SLICE_SIZE}
+     */
+    private void expandSlice(int slice){
+        int[] buffer = sliceBuffer.get();
+        int count = 0;
+        int end = Math.min(frontierSize, (slice + 1) * SLICE_SIZE);
+        for (int index = slice * SLICE_SIZE; index < end; index++){
+            int cell = frontier[index];
+            int open = maze.getOpenDirections(cell);
+            while (open != 0) {
+                int ordinal = Integer.numberOfTrailingZeros(open);
+                open &= open - 1;
+                // The open directions never lead outside the maze
+                int neighbor = cell + neighborOffsets[ordinal];
+                // Only the worker that claimed the neighbor writes its state
+                if (claim(neighbor)) {
+                    state.setReached(neighbor, true);
+                    state.setParentDirection(neighbor, OPPOSITES[ordinal]);
+                    state.setStatus(neighbor, TileStatus.VISITED);
+                    buffer[count++] = neighbor;
+                }
+            }
+        }
+        // Reserve the place of the cells in the next level and copy them
+        System.arraycopy(buffer, 0, next, nextSize.getAndAdd(count), count);
+    }
+
+    /**
+     * Claim a cell, a cell can only be claimed once
+     * @param cell
+     * The cell id
+     * @return
+     * {@code true} if the cell has been claimed by this call, {@code false} if it was already claimed
+     */
+    private boolean claim(int cell){
+        int word = cell >>> 6;
+        long bit = 1L << cell;
+        long bits = claimed.get(word);
+        while ((bits & bit) == 0) {
+            if (claimed.compareAndSet(word, bits, bits | bit)) return true;
+            bits = claimed.get(word);
+        }
+        return false;
+    }
+
+    /**
+     * Check if a cell has been claimed
+     * @param cell
+     * The cell id
+     * @return
+     * {@code true} if the cell has been claimed, {@code false} if not
+     */
+    private boolean isClaimed(int cell){
+        return (claimed.get(cell >>> 6) & (1L << cell)) != 0;
+    }
+
+    @Override
+    public int getVisitedCount() {
+        return visitedCount;
+    }
+
+    @Override
+    public int getPathCount() {
+        return pathCount;
+    }
+
+    @Override
+    public boolean isComplete() {
+        return isFinished && pathStep == -1;
+    }
+
+    @Override
+    public long getExecutionTime(){
+        return isFinished ? (endTime - startTime) : 0;
+    }
+}
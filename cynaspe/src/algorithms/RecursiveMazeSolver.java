@@ -1,10 +1,10 @@
 package algorithms;
 
-import java.util.Stack;
-
 import enums.TileStatus;
+import enums.WallDirection;
+import model.INeighborVisitor;
 import model.MazeModel;
-import model.TileModel;
+import utils.Helpers;
 
 /**
  * DFS algorithm to find a path through the maze.
@@ -16,19 +16,24 @@ import model.TileModel;
  */
 public class RecursiveMazeSolver extends Solver implements ISolverAlgorithm {
 
-    /** Stack used to keep track of tiles to visit during the DFS algorithm */ 
-    private Stack<TileModel> stack = new Stack<>();
+    /** Bits allocated on the heap per tile, by the stack when it holds every tile */
+    public static final int HEAP_BITS_PER_CELL = Integer.SIZE;
+
+    /** Stack used to keep track of cells to visit during the DFS algorithm, an array of cell ids */ 
+    private final CellStack stack = new CellStack();
+
+    /** Visitor called on each accessible neighbor of the expanded tile, created once */
+    private final INeighborVisitor neighborVisitor = this::visitNeighbor;
 
     /**
      * Constructor for a DFS solver.
      * @param maze the maze to be solved
      */
     public RecursiveMazeSolver(MazeModel maze) {
-        this.maze = maze;
+        super(maze, true);
+        maze.checkHeapFootprint(HEAP_BITS_PER_CELL);
 
-        TileModel start = maze.getStartTile();
-        stack.push(start);
-        visited.add(start);
+        stack.push(maze.getStartCell());
 
         startTime = System.currentTimeMillis();
     }
@@ -36,25 +41,25 @@ public class RecursiveMazeSolver extends Solver implements ISolverAlgorithm {
     @Override
     public boolean step() {
         // If the algorithm has finished, start tracing the path starting from the end tile
-        if (isFinished && pathStep != null) {
+        if (isFinished && pathStep != -1) {
             // Mark the current tile as being the path
-            pathStep.status = TileStatus.PATH;
+            state.setStatus(pathStep, TileStatus.PATH);
             pathCount++;
             // Move to the parent tile (previous step) in the path
-            pathStep = parentMap.get(pathStep);
+            pathStep = getParent(pathStep);
             // True if path tracing has finished (no more parents)
-            return pathStep == null;
+            return pathStep == -1;
         }
 
         if (!isFinished) {
             // If there are tiles left to go
             if (!stack.isEmpty()) {
                 // Pop the next tile to go
-                TileModel current = stack.pop();
+                int current = stack.pop();
 
                 // If the current tile is the end tile
                 // The algoritm has finished
-                if (current.equals(maze.getEndTile())) {
+                if (current == maze.getEndCell()) {
                     isFinished = true;
                     endTime = System.currentTimeMillis();
                     pathStep = current;
@@ -63,18 +68,7 @@ public class RecursiveMazeSolver extends Solver implements ISolverAlgorithm {
                 }
 
                 // Loop over the accessible neigbhors of the tile
-                for (TileModel neighbor : maze.getAccessibleNeighbors(current)) {
-                    // If the neighbor wasn't been visited
-                    if (!visited.contains(neighbor)) {
-                        // Add that the neighbor has been visited
-                        visited.add(neighbor);
-                        neighbor.status = TileStatus.VISITED;
-                        // Add the neigbhor to be explored later
-                        stack.push(neighbor);
-                        // Track that we went to this neighbor with the current tile
-                        parentMap.put(neighbor, current);
-                    }
-                }
+                maze.forEachAccessibleNeighbor(current, neighborVisitor);
 
                 // Algorithm is still going
                 return false;
@@ -89,9 +83,28 @@ public class RecursiveMazeSolver extends Solver implements ISolverAlgorithm {
         return true;
     }
 
+    /**
+     * Visit an accessible neighbor of the expanded tile
+     * @param neighbor
+     * The cell id of the neighbor
+     * @param direction
+     * The direction to go from the expanded tile to the neighbor
+     */
+    private void visitNeighbor(int neighbor, WallDirection direction){
+        // If the neighbor wasn't been visited
+        if (!state.isReached(neighbor)) {
+            // Add that the neighbor has been visited
+            // Track that we went to this neighbor with the current tile
+            markVisited(neighbor, Helpers.getOppositeDirection(direction));
+            state.setStatus(neighbor, TileStatus.VISITED);
+            // Add the neigbhor to be explored later
+            stack.push(neighbor);
+        }
+    }
+
     @Override
     public int getVisitedCount() {
-        return visited.size();
+        return visitedCount;
     }
 
     @Override
@@ -101,7 +114,7 @@ public class RecursiveMazeSolver extends Solver implements ISolverAlgorithm {
 
     @Override
     public boolean isComplete() {
-        return isFinished && pathStep == null;
+        return isFinished && pathStep == -1;
     }
 
     @Override
@@ -1,26 +1,39 @@
 package algorithms;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
-
+import enums.WallDirection;
 import model.MazeModel;
-import model.TileModel;
+import model.SolverState;
 
 /**
  * Abstract base class for maze-solving algorithms.
  * <p>
  * Provides properties and methods for solver implementations
  * for the solver algoritmhs will extend and customize to solve a maze.
+ * The tiles are handled by their cell id, the cells reached, their parent and their status
+ * are kept in a {@code SolverState} owned by the solver, the maze is only read.
  * </p>
  */
 public abstract class Solver {
     /**
-     * Default constructor.
+     * Construct the solver on a maze, with a new state where no tile has been reached.
+     * @param maze
+     * The maze to use the solver on
+     */
+    public Solver(MazeModel maze) {
+        this(maze, false);
+    }
+
+    /**
+     * Construct the solver on a maze, with a new state where only the start tile can be reached.
+     * @param maze
+     * The maze to use the solver on
+     * @param reachStart
+     * {@code true} to mark the start tile as visited, for the solvers starting from it at once
      */
-    public Solver() {
-        
+    protected Solver(MazeModel maze, boolean reachStart) {
+        this.maze = maze;
+        this.state = maze.createSolverState();
+        if (reachStart) markVisited(maze.getStartCell(), null);
     }
 
     /**
@@ -29,14 +42,14 @@ public abstract class Solver {
     protected MazeModel maze;
 
     /**
-     * Stores the parent of each visited tile for the reconstruction of the path.
+     * The state of the tiles for this solver.
      */
-    protected Map<TileModel, TileModel> parentMap = new HashMap<>();
+    protected SolverState state;
 
     /**
-     * The tiles that have been visited.
+     * How many cells have been visited.
      */
-    protected Set<TileModel> visited = new HashSet<>();
+    protected int visitedCount = 0;
 
     /**
      * Indicates that the algorithm has finished.
@@ -44,9 +57,9 @@ public abstract class Solver {
     protected boolean isFinished = false;
 
     /**
-     * Tile to trace the path once the algorithm has finished.
+     * Cell to trace the path once the algorithm has finished, {@code -1} if there is none.
      */
-    protected TileModel pathStep = null;
+    protected int pathStep = -1;
 
     /**
      * How many path tiles there are.
@@ -63,4 +76,36 @@ public abstract class Solver {
      */
     protected long endTime = 0;
 
+    /**
+     * Mark a cell as visited
+     * @param cell
+     * The cell that has been visited
+     * @param parentDirection
+     * The direction of the cell it was reached from, {@code null} for the start cell
+     */
+    protected final void markVisited(int cell, WallDirection parentDirection){
+        state.setReached(cell, true);
+        if (parentDirection != null) state.setParentDirection(cell, parentDirection);
+        visitedCount++;
+    }
+
+    /**
+     * Get the previous cell in the path
+     * @param cell
+     * The cell in the path
+     * @return
+     * A {@code int} of the parent cell, {@code -1} if the cell is the start cell
+     */
+    protected int getParent(int cell){
+        return cell == maze.getStartCell() ? -1 : maze.getNeighborCell(cell, state.getParentDirection(cell));
+    }
+
+    /**
+     * Get the state of the tiles for this solver, to render the tiles visited and the path
+     * @return
+     * The {@code SolverState} of the solver
+     */
+    public SolverState getSolverState(){
+        return state;
+    }
 }
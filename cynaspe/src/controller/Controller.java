@@ -10,6 +10,11 @@ import javafx.stage.Stage;
  * </p>
  */
 public abstract class Controller {
+    /**
+     * Longest time counted between two frames of an animation, so a slow frame doesn't make a huge batch of steps.
+     */
+    protected static final long MAX_FRAME_NANOS = 100_000_000L;
+
     /**
      * Default constructor.
      */
@@ -83,6 +83,8 @@ public class MainController extends Controller {
     @FXML private RadioButton RadioButtonMazeSolverDFS;
     @FXML private RadioButton RadioButtonMazeSolverBFS;
     @FXML private RadioButton RadioButtonMazeSolverDjisktra;
+    @FXML private RadioButton RadioButtonMazeSolverAStar;
+    @FXML private RadioButton RadioButtonMazeSolverBidirectionalBFS;
     // Radio buttons group for the solving mode 
     @FXML private ToggleGroup MazeSolverModeGroup; 
     @FXML private RadioButton RadioButtonMazeSolverModeComplete;
@@ -103,9 +105,9 @@ public class MainController extends Controller {
      */
     @FXML
     public void initialize(){
-        // Set the value of the spinner for the generation speed
+        // Set the value of the spinner for the generation speed, in steps per second
         SpinnerValueFactory<Integer> generationSpeedValueFactory = 
-            new SpinnerValueFactory.IntegerSpinnerValueFactory(1,200);
+            new SpinnerValueFactory.IntegerSpinnerValueFactory(1,100000);
         generationSpeedValueFactory.setValue(10);
         SpinnerGenerationSpeed.setValueFactory(generationSpeedValueFactory);
 
@@ -173,6 +175,8 @@ public class MainController extends Controller {
         RadioButtonMazeSolverDFS.setUserData(SolveAlgorithms.DFS);
         RadioButtonMazeSolverBFS.setUserData(SolveAlgorithms.BFS);
         RadioButtonMazeSolverDjisktra.setUserData(SolveAlgorithms.DJIKSTRA);
+        RadioButtonMazeSolverAStar.setUserData(SolveAlgorithms.ASTAR);
+        RadioButtonMazeSolverBidirectionalBFS.setUserData(SolveAlgorithms.BIDIRECTIONAL_BFS);
         MazeSolverGroup.selectedToggleProperty().addListener((obs, oldToggle, newToggle) -> {
             selectedSolverAlgorithms = Helpers.getSelectedUserData(MazeSolverGroup);
             mazeSolverController.setSelectedAlgorithm(selectedSolverAlgorithms);
@@ -248,8 +252,8 @@ public class MainController extends Controller {
         try {
             File file = fileDialogForMazeFile("Sauvegarder un labyrinthe", true);
             if (file != null) {
-                // Write the maze to the file
-                MazeWriter.write(mazeController.maze, file);
+                // The write ends before any wall can be edited, a snapshot is only taken when it doesn't copy the maze
+                MazeWriter.write(mazeController.maze.snapshotIfShared(), file);
             }
         } catch (Exception e) {
             e.printStackTrace();
@@ -2,6 +2,7 @@ package controller;
 
 import enums.WallDirection;
 import javafx.scene.canvas.Canvas;
+import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.input.MouseEvent;
 import model.TileModel;
@@ -101,6 +102,18 @@ public class MazeCanvasController extends Controller {
      * The key that has been pressed
      */
     private void onKeyPressed(KeyEvent event) {
+        // Ctrl+Z and Ctrl+Y to undo and redo the walls edited
+        if (event.isShortcutDown()) {
+            if (mazeController.isGenerating || !mazeController.hasMaze()) return;
+            // Only the tiles of the walls changed since this version are drawn again
+            int version = mazeController.maze.getJournal().getVersion();
+            boolean changed = false;
+            if (event.getCode() == KeyCode.Z) changed = mazeController.undo();
+            else if (event.getCode() == KeyCode.Y) changed = mazeController.redo();
+            if (changed) mazeController.renderCells(mazeController.maze.getChangedCells(version), false);
+            return;
+        }
+
         if (mazeController.isGenerating || !mazeController.hasMaze() || mazeController.hoveredTile == null) return;
 
         switch (event.getCode()) {
@@ -3,6 +3,7 @@ package controller;
 import java.util.Random;
 
 import enums.DialogResult;
+import enums.GenerationAlgorithms;
 import enums.GenerationMode;
 import enums.MazeType;
 import javafx.fxml.FXML;
@@ -15,6 +16,7 @@ import javafx.scene.control.ToggleGroup;
 import javafx.scene.layout.GridPane;
 import javafx.stage.Stage;
 import utils.Helpers;
+import utils.MazeBraider;
 
 /**
  * Controller for managing the maze configuration settings UI.
@@ -40,16 +42,29 @@ public class MazeConfigurationController extends Controller {
     
     @FXML private Spinner<Integer> SpinnerNumCols;
     @FXML private Spinner<Integer> SpinnerNumRows;
+    @FXML private Spinner<Integer> SpinnerLoopDensity;
 
     @FXML
     private ToggleGroup MazeTypeGroup;
     @FXML
     private ToggleGroup GenerationModeGroup;
+    @FXML
+    private ToggleGroup GenerationAlgorithmGroup;
 
     @FXML private RadioButton RadioButtonPerfectType;
     @FXML private RadioButton RadioButtonImperfectType;
     @FXML private RadioButton RadioButtonGenerationModeComplete;
     @FXML private RadioButton RadioButtonGenerationModeStep;
+    @FXML private RadioButton RadioButtonGenerationKruskal;
+    @FXML private RadioButton RadioButtonGenerationPrim;
+    @FXML private RadioButton RadioButtonGenerationBacktracker;
+    @FXML private RadioButton RadioButtonGenerationWilson;
+    @FXML private RadioButton RadioButtonGenerationBinaryTree;
+    @FXML private RadioButton RadioButtonGenerationSidewinder;
+    @FXML private RadioButton RadioButtonGenerationKruskalImplicit;
+    @FXML private RadioButton RadioButtonGenerationParallelKruskal;
+    @FXML private RadioButton RadioButtonGenerationBlockParallel;
+    @FXML private RadioButton RadioButtonGenerationPackedBinaryTree;
 
     /**
      * Initialize the FXML
@@ -76,10 +91,31 @@ public class MazeConfigurationController extends Controller {
         SpinnerNumCols.setValueFactory(mazeColsValueFactory);
         SpinnerNumRows.setValueFactory(mazeRowsValueFactory);
 
+        // Percentage of the dead ends opened in an imperfect maze
+        SpinnerValueFactory<Integer> loopDensityValueFactory =
+            new SpinnerValueFactory.IntegerSpinnerValueFactory(0, 100);
+        loopDensityValueFactory.setValue((int) Math.round(MazeBraider.DEFAULT_DENSITY * 100));
+        SpinnerLoopDensity.setValueFactory(loopDensityValueFactory);
+        // Only an imperfect maze has loops
+        SpinnerLoopDensity.setDisable(true);
+        MazeTypeGroup.selectedToggleProperty().addListener((obs, oldToggle, newToggle) -> {
+            SpinnerLoopDensity.setDisable(newToggle != RadioButtonImperfectType);
+        });
+
         RadioButtonPerfectType.setUserData(MazeType.PERFECT);
         RadioButtonImperfectType.setUserData(MazeType.IMPERFECT);
         RadioButtonGenerationModeComplete.setUserData(GenerationMode.COMPLETE);
         RadioButtonGenerationModeStep.setUserData(GenerationMode.STEP);
+        RadioButtonGenerationKruskal.setUserData(GenerationAlgorithms.KRUSKAL);
+        RadioButtonGenerationPrim.setUserData(GenerationAlgorithms.PRIM);
+        RadioButtonGenerationBacktracker.setUserData(GenerationAlgorithms.BACKTRACKER);
+        RadioButtonGenerationWilson.setUserData(GenerationAlgorithms.WILSON);
+        RadioButtonGenerationBinaryTree.setUserData(GenerationAlgorithms.BINARY_TREE);
+        RadioButtonGenerationSidewinder.setUserData(GenerationAlgorithms.SIDEWINDER);
+        RadioButtonGenerationKruskalImplicit.setUserData(GenerationAlgorithms.KRUSKAL_IMPLICIT);
+        RadioButtonGenerationParallelKruskal.setUserData(GenerationAlgorithms.PARALLEL_KRUSKAL);
+        RadioButtonGenerationBlockParallel.setUserData(GenerationAlgorithms.BLOCK_PARALLEL);
+        RadioButtonGenerationPackedBinaryTree.setUserData(GenerationAlgorithms.PACKED_BINARY_TREE);
     }
 
     /**
@@ -121,6 +157,15 @@ public class MazeConfigurationController extends Controller {
         return SpinnerNumCols.getValue();
     }
 
+    /**
+     * Get the chance of a dead end to be opened in an imperfect maze, from the Spinner
+     * @return
+     * A {@code double} between 0 and 1
+     */
+    public double getLoopDensity(){
+        return SpinnerLoopDensity.getValue() / 100.0;
+    }
+
     /**
      * Get the generation mode of the maze
      * @return
@@ -131,6 +176,16 @@ public class MazeConfigurationController extends Controller {
         return selected != null ? (GenerationMode) selected.getUserData() : null;
     }
 
+    /**
+     * Get the algorithm used to generate the maze
+     * @return
+     * A {@code GenerationAlgorithms} used for the generation
+     */
+    public GenerationAlgorithms getGenerationAlgorithm(){
+        Toggle selected = GenerationAlgorithmGroup.getSelectedToggle();
+        return selected != null ? (GenerationAlgorithms) selected.getUserData() : GenerationAlgorithms.KRUSKAL;
+    }
+
     /**
      * Get the type of maze
      * @return
@@ -4,15 +4,24 @@ import java.io.File;
 import java.util.Random;
 import java.util.Scanner;
 
+import algorithms.AStarSolver;
+import algorithms.BidirectionalBreadthFirstSolver;
 import algorithms.BreadthFirstSolver;
 import algorithms.DjikstraSolver;
 import algorithms.ISolverAlgorithm;
+import algorithms.MazePathIndex;
+import algorithms.ParallelBreadthFirstSolver;
 import algorithms.RecursiveMazeSolver;
+import enums.GenerationAlgorithms;
 import enums.MazeType;
+import enums.TileStatus;
 import io.MazeReader;
 import io.MazeWriter;
+import io.TileCostReader;
 import model.MazeModel;
-import utils.KruskalMazeGenerator;
+import model.SolverState;
+import utils.IMazeGenerator;
+import utils.MazeGenerator;
 
 /**
  * Controller that manages interaction for the maze in the console.
@@ -52,13 +61,15 @@ public class MazeConsoleController {
                     int seed = askNumber( "Entrer graine (0, 2147483647), random if empty: ", 0, Integer.MAX_VALUE, true);
                     int mazeTypeInput = askNumber( "Choir le mode de génération\n1 pour PARFAIT\n2 pour IMPARFAIT\n", 1, 2, false);
                     MazeType mazeType = (mazeTypeInput == 2) ? MazeType.IMPERFECT : MazeType.PERFECT;
+                    int loopDensityInput = (mazeType == MazeType.IMPERFECT) ? askNumber( "Entrer le pourcentage d'impasses ouvertes (0-100): ", 0, 100, false) : 0;
+                    int algorithmInput = askNumber( "Choisir l'algorithme de génération\n1 pour Kruskal\n2 pour Prim\n3 pour Backtracker\n4 pour Wilson\n5 pour Arbre binaire\n6 pour Sidewinder\n7 pour Kruskal (ordre implicite)\n8 pour Kruskal parallèle\n9 pour Blocs parallèles\n10 pour Arbre binaire par mots\n", 1, 10, false);
+                    GenerationAlgorithms algorithm = GenerationAlgorithms.values()[algorithmInput - 1];
     
                     // Generate the maze and render it
-                    maze = new MazeModel(numRows, numCols);
-                    KruskalMazeGenerator kruskalMazeGenerator = new KruskalMazeGenerator(maze, seed, mazeType);
-                    while (!kruskalMazeGenerator.isComplete()){
-                        kruskalMazeGenerator.step();
-                    }
+                    maze = MazeModel.create(numRows, numCols);
+                    IMazeGenerator generator = MazeGenerator.create(algorithm, maze, seed, mazeType);
+                    generator.setLoopDensity(loopDensityInput / 100.0);
+                    generator.generateAll();
                     // stop the loop
                     choosingOptions = false;
                     break;
@@ -97,6 +108,11 @@ public class MazeConsoleController {
             solveMaze(maze);
         }
 
+        int askPathInput = askNumber( "Voulez vous chercher des chemins entre deux cases ?\n1 pour OUI\n2 pour NON\n", 1, 2, false);
+        if (askPathInput == 1){
+            findPaths(maze);
+        }
+
         // Sauvegarde du labyrinthe
         int saveOptions = askNumber( "Voulez vous sauvegarder ce labyrinthe ?\n1 pour OUI\n2 pour NON\n", 1, 2, false);
         if (saveOptions == 1){
@@ -111,30 +127,112 @@ public class MazeConsoleController {
      */
     private void solveMaze(MazeModel maze){
         // Ask which solver algorithm to use
-        int solverAlgoInput = askNumber( "Choisir l'algorithme de résolution\n1 pour DFS\n2 pour BFS\n3 pour Djikstra\n", 1, 3, false);
+        int solverAlgoInput = askNumber( "Choisir l'algorithme de résolution\n1 pour DFS\n2 pour BFS\n3 pour Djikstra\n4 pour A*\n5 pour BFS bidirectionnel\n6 pour BFS parallèle\n", 1, 6, false);
 
         ISolverAlgorithm solverAlgorithm;
-        switch (solverAlgoInput) {
-            case 1:
-                solverAlgorithm = new RecursiveMazeSolver(maze);
-                break;
-
-            case 2:
-                solverAlgorithm = new BreadthFirstSolver(maze);
-                break;
-
-            case 3:
-                solverAlgorithm = new DjikstraSolver(maze);
-                break;
-            default:
-                solverAlgorithm = new RecursiveMazeSolver(maze);
-                break;
+        try {
+            switch (solverAlgoInput) {
+                case 1:
+                    solverAlgorithm = new RecursiveMazeSolver(maze);
+                    break;
+
+                case 2:
+                    solverAlgorithm = new BreadthFirstSolver(maze);
+                    break;
+
+                case 3:
+                    solverAlgorithm = new DjikstraSolver(maze, askTileCosts(maze));
+                    break;
+
+                case 4:
+                    solverAlgorithm = new AStarSolver(maze);
+                    break;
+
+                case 5:
+                    solverAlgorithm = new BidirectionalBreadthFirstSolver(maze);
+                    break;
+
+                case 6:
+                    solverAlgorithm = new ParallelBreadthFirstSolver(maze);
+                    break;
+                default:
+                    solverAlgorithm = new RecursiveMazeSolver(maze);
+                    break;
+            }
+        } catch (IllegalArgumentException e) {
+            // The structures of the solver don't fit in the heap for this maze
+            System.out.println("Labyrinthe trop grand pour cet algorithme, essayer le BFS parallèle : " + e.getMessage());
+            return;
         }
         // Solve the maze and render it
         while (!solverAlgorithm.isComplete()){
             solverAlgorithm.step();
         }
-        maze.renderMazeConsole();
+        maze.renderMazeConsole(solverAlgorithm.getSolverState());
+        solverAlgorithm.getSolverState().close();
+    }
+
+    /**
+     * Find paths between tiles chosen through the console, the index of the paths is built once for every path
+     * @param maze
+     * The perfect maze where the paths are found
+     */
+    private void findPaths(MazeModel maze){
+        MazePathIndex pathIndex;
+        try {
+            pathIndex = new MazePathIndex(maze);
+        } catch (IllegalArgumentException e) {
+            // The index needs a perfect maze, with a single path between two tiles
+            System.out.println("Impossible d'indexer les chemins de ce labyrinthe : " + e.getMessage());
+            return;
+        }
+
+        boolean findingPaths = true;
+        while (findingPaths) {
+            int fromRow = askNumber( "Entrer la ligne de départ (0-" + (maze.numRows - 1) + "): ", 0, maze.numRows - 1, false);
+            int fromColumn = askNumber( "Entrer la colonne de départ (0-" + (maze.numCols - 1) + "): ", 0, maze.numCols - 1, false);
+            int toRow = askNumber( "Entrer la ligne d'arrivée (0-" + (maze.numRows - 1) + "): ", 0, maze.numRows - 1, false);
+            int toColumn = askNumber( "Entrer la colonne d'arrivée (0-" + (maze.numCols - 1) + "): ", 0, maze.numCols - 1, false);
+
+            // Show the path as the path of a solver, the maze isn't changed
+            int[] path = pathIndex.getPath(maze.getCellId(fromRow, fromColumn), maze.getCellId(toRow, toColumn));
+            SolverState pathState = maze.createSolverState();
+            for (int cell : path){
+                pathState.setStatus(cell, TileStatus.PATH);
+            }
+            maze.renderMazeConsole(pathState);
+            pathState.close();
+            System.out.println("Chemin de " + path.length + " cases");
+
+            int againInput = askNumber( "Chercher un autre chemin ?\n1 pour OUI\n2 pour NON\n", 1, 2, false);
+            findingPaths = againInput == 1;
+        }
+    }
+
+    /**
+     * Ask the file of the costs of the tiles, for Dijkstra to find the least costly path
+     * @param maze
+     * The maze to solve
+     * @return
+     * A {@code int[]} of the cost of each tile, {@code null} if every tile costs 1
+     */
+    private int[] askTileCosts(MazeModel maze){
+        while (true) {
+            System.out.print("Entrer le chemin du fichier de coûts (vide pour un coût de 1 par case) : ");
+            String filePath = scanner.nextLine().trim();
+            if (filePath.isEmpty()) return null;
+
+            File file = new File(filePath);
+            if (!file.isFile()) {
+                System.out.println("Chemin invalide");
+                continue;
+            }
+            try {
+                return TileCostReader.read(file, maze);
+            } catch (RuntimeException e) {
+                System.out.println("Erreur chargement du fichier de coûts : " + e.getMessage());
+            }
+        }
     }
 
     /**
@@ -8,7 +8,9 @@ import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
 
 import model.MazeModel;
+import model.SolverState;
 import model.TileModel;
+import utils.IMazeGenerator;
 
 /**
  * Controller responsible for managing the maze logic and rendering.
@@ -24,6 +26,18 @@ public class MazeController extends Controller {
      */
     public MazeModel maze;
 
+    /**
+     * The state of the last solver, used to render the visited and path tiles,
+     * {@code null} if the maze hasn't been solved.
+     */
+    private SolverState solverState;
+
+    /**
+     * The generator of the maze, used to render the tiles not visited yet during generation,
+     * {@code null} if the maze wasn't generated.
+     */
+    public IMazeGenerator generator;
+
     /**
      * The canvas where the maze is rendered.
      */
@@ -72,6 +86,8 @@ public class MazeController extends Controller {
      */
     public void setMaze(MazeModel maze){
         this.maze = maze;
+        setSolverState(null);
+        this.generator = null;
         renderMaze(false);
     }
 
@@ -118,47 +134,79 @@ public class MazeController extends Controller {
 
         for(int row = 0; row < maze.numRows; row++){
             for (int column = 0; column < maze.numCols; column++){
-                TileModel tile = maze.tiles[row][column];
-
-                Color color = null;
-                // Draw the start tile
-                if (row == 0 && column == 0)
-                    color = Color.LIGHTGREEN;
-                // Draw the end tile
-                else if (row == maze.numRows - 1 && column == maze.numCols - 1)
-                    color = Color.RED;
-                // Draw the hovered tile
-                else if (hoveredTile != null && row == hoveredTile.row && column == hoveredTile.column)
-                    color = Color.LIGHTGRAY;
-                // Draw the other tiles
-                else if (!tile.isVisited && isGenerating)
-                    color = Color.GREY;
-                // Draw the path tile
-                else if (tile.status == TileStatus.PATH)
-                    color = Color.YELLOW;
-                // Draw tile that has been visited
-                else if (tile.status == TileStatus.VISITED)
-                    color = Color.DARKGRAY;
-                else
-                    color = Color.WHITE;
-
-                drawTile(tile, tileSize, color);
+                drawTile(row, column, tileSize, getTileColor(row, column, isGenerating));
             }
         }
     }
 
+    /**
+     * Render only some tiles of the maze on the canvas, the other tiles are kept
+     * @param cells
+     * The cell ids of the tiles to render
+     * @param isGenerating
+     * If the maze was generating
+     */
+    public void renderCells(int[] cells, boolean isGenerating){
+        gc.setGlobalAlpha(1.0);
+        double tileSize = getTileSize();
+
+        for (int cell : cells){
+            int row = maze.getRow(cell);
+            int column = maze.getColumn(cell);
+            drawTile(row, column, tileSize, getTileColor(row, column, isGenerating));
+        }
+    }
+
+    /**
+     * Get the color of a tile
+     * @param row
+     * The row of the tile
+     * @param column
+     * The column of the tile
+     * @param isGenerating
+     * If the maze was generating
+     * @return
+     * The {@code Color} of the tile
+     */
+    private Color getTileColor(int row, int column, boolean isGenerating){
+        int cell = maze.getCellId(row, column);
+        TileStatus status = solverState == null ? TileStatus.UNVISITED : solverState.getStatus(cell);
+
+        // The start tile
+        if (row == 0 && column == 0)
+            return Color.LIGHTGREEN;
+        // The end tile
+        if (row == maze.numRows - 1 && column == maze.numCols - 1)
+            return Color.RED;
+        // The hovered tile
+        if (hoveredTile != null && row == hoveredTile.row && column == hoveredTile.column)
+            return Color.LIGHTGRAY;
+        // The tiles not reached by the generation
+        if (isGenerating && generator != null && !generator.isVisited(cell))
+            return Color.GREY;
+        // The path tile
+        if (status == TileStatus.PATH)
+            return Color.YELLOW;
+        // The tile that has been visited
+        if (status == TileStatus.VISITED)
+            return Color.DARKGRAY;
+        return Color.WHITE;
+    }
+
     /**
      * Draw a tile on a canvas
-     * @param tileModel
-     * The tile to draw
+     * @param row
+     * The row of the tile to draw
+     * @param column
+     * The column of the tile to draw
      * @param tileSize
      * The size of the tile
      * @param color
      * The color of the tile
      */
-    public void drawTile(TileModel tileModel, double tileSize, Color color){
-        long x = Math.round(tileModel.column * tileSize);
-        long y = Math.round(tileModel.row * tileSize);
+    public void drawTile(int row, int column, double tileSize, Color color){
+        long x = Math.round(column * tileSize);
+        long y = Math.round(row * tileSize);
 
         if (color != null){
             gc.setFill(color);
@@ -169,9 +217,9 @@ public class MazeController extends Controller {
         gc.setLineWidth(2);
         
         for (WallDirection direction : WallDirection.values()){
-            if (!tileModel.walls.getOrDefault(direction, false)) continue;
+            if (!maze.hasWall(row, column, direction)) continue;
 
-            drawWall(tileModel, tileSize, direction);
+            drawWall(row, column, tileSize, direction);
         }
     
         drawHoveredWall(tileSize);
@@ -179,16 +227,18 @@ public class MazeController extends Controller {
 
     /**
      * Draw a wall of a tile
-     * @param tile
-     * The tile to draw a wall to
+     * @param row
+     * The row of the tile to draw a wall to
+     * @param column
+     * The column of the tile to draw a wall to
      * @param tileSize
      * The size of the tile
      * @param wallDirection
      * The direction of the wall to draw
      */
-    private void drawWall(TileModel tile, double tileSize, WallDirection wallDirection){
-        double x = tile.column * tileSize;
-        double y = tile.row * tileSize;
+    private void drawWall(int row, int column, double tileSize, WallDirection wallDirection){
+        double x = column * tileSize;
+        double y = row * tileSize;
 
         switch (wallDirection) {
             case TOP: gc.strokeLine(x, y, x + tileSize, y); break;
@@ -216,7 +266,7 @@ public class MazeController extends Controller {
             gc.setLineWidth(6);
     
             // Draw the hovered wall
-            drawWall(hoveredTile, tileSize, hoveredWall);
+            drawWall(hoveredTile.row, hoveredTile.column, tileSize, hoveredWall);
         }
     }
 
@@ -251,7 +301,17 @@ public class MazeController extends Controller {
      * Reset all the tiles to unvisited
      */
     public void resetTileStatus(){
-        maze.resetTileStatus();
+        setSolverState(null);
+    }
+
+    /**
+     * Set the state of the solver to render, the state rendered before is closed
+     * @param solverState
+     * The state of the last solver, {@code null} if the maze hasn't been solved
+     */
+    public void setSolverState(SolverState solverState){
+        if (this.solverState != null && this.solverState != solverState) this.solverState.close();
+        this.solverState = solverState;
     }
 
     /**
@@ -288,4 +348,22 @@ public class MazeController extends Controller {
     public void removeWall(TileModel tile, WallDirection wallDirection){
         maze.removeWall(tile, wallDirection);
     }
+
+    /**
+     * Undo the last wall edited on the maze
+     * @return
+     * {@code true} if an edit has been undone, {@code false} if there was none
+     */
+    public boolean undo(){
+        return maze.undo();
+    }
+
+    /**
+     * Redo the last wall edit undone on the maze
+     * @return
+     * {@code true} if an edit has been redone, {@code false} if there was none
+     */
+    public boolean redo(){
+        return maze.redo();
+    }
 }
@@ -1,12 +1,14 @@
 package controller;
 
+import enums.GenerationAlgorithms;
 import enums.GenerationMode;
+import enums.MazeType;
 import javafx.animation.AnimationTimer;
 import javafx.scene.control.Label;
 import javafx.scene.control.Spinner;
 import model.MazeModel;
-import utils.Helpers;
-import utils.KruskalMazeGenerator;
+import utils.IMazeGenerator;
+import utils.MazeGenerator;
 import utils.SpinnerText;
 
 /**
@@ -47,6 +49,16 @@ public class MazeGenerationController extends Controller {
      */
     private AnimationTimer generationTimer;
 
+    /**
+     * The algorithm of the generator of the maze, to know if it can be reused.
+     */
+    private GenerationAlgorithms generatorAlgorithm;
+
+    /**
+     * The type of maze of the generator of the maze, to know if it can be reused.
+     */
+    private MazeType generatorType;
+
 
     /**
      * Constructs a new {@code MazeGenerationController} that handle the maze generation
@@ -97,9 +109,26 @@ public class MazeGenerationController extends Controller {
             generationTimer = null;
         }
 
-        mazeController.maze = new MazeModel(mazeConfigurationController.getMazeNumRows(), mazeConfigurationController.getMazeNumColumns());
-        // Use Kruskal algorithm to generate the maze
-        KruskalMazeGenerator generator = new KruskalMazeGenerator(mazeController.maze, mazeConfigurationController.getMazeSeed(), mazeConfigurationController.getMazeType());
+        int numRows = mazeConfigurationController.getMazeNumRows();
+        int numColumns = mazeConfigurationController.getMazeNumColumns();
+        GenerationAlgorithms algorithm = mazeConfigurationController.getGenerationAlgorithm();
+        MazeType mazeType = mazeConfigurationController.getMazeType();
+
+        // A maze of the same size with the same algorithm reuses the maze and the generator, only reset
+        if (mazeController.generator != null && mazeController.maze != null
+            && mazeController.maze.numRows == numRows && mazeController.maze.numCols == numColumns
+            && algorithm == generatorAlgorithm && mazeType == generatorType){
+            mazeController.generator.reset(mazeConfigurationController.getMazeSeed());
+        } else {
+            mazeController.maze = new MazeModel(numRows, numColumns);
+            // Use the algorithm chosen to generate the maze
+            mazeController.generator = MazeGenerator.create(algorithm, mazeController.maze, mazeConfigurationController.getMazeSeed(), mazeType);
+            generatorAlgorithm = algorithm;
+            generatorType = mazeType;
+        }
+        IMazeGenerator generator = mazeController.generator;
+        generator.setLoopDensity(mazeConfigurationController.getLoopDensity());
+        mazeController.resetTileStatus();
 
         if (onGenerationStarted != null) onGenerationStarted.run();
 
@@ -107,9 +136,7 @@ public class MazeGenerationController extends Controller {
         switch (mazeConfigurationController.getGenerationMode()) {
             case GenerationMode.COMPLETE:
                 // instant
-                while (!generator.isComplete()){
-                    generator.step();
-                }
+                generator.generateAll();
                 // Maze generation has finished
                 mazeController.renderMaze(false);
                 if (onGenerationFinished != null) onGenerationFinished.run();
@@ -119,29 +146,36 @@ public class MazeGenerationController extends Controller {
                 // Show the spinner text
                 SpinnerText spinner = new SpinnerText(4);
                 labelStatus.setText(spinner.getCurrentFrame());
-                
+                // Draw the whole maze once, then each frame only draws the tiles changed
+                mazeController.renderMaze(true);
+
                 // Start the animation
                 generationTimer = new AnimationTimer() {
                     private long lastUpdate = 0;
+                    // Steps due but not done yet, the first frame does one step
+                    private double pendingSteps = 1;
 
                     @Override
                     public void handle(long now) {
-                        
-                        if (now - lastUpdate >= Helpers.fpsToNanos(spinnerSpeed.getValue())) {
-                            lastUpdate = now;
-
-                            if (!generator.isComplete()) {
-                                // Show each step of the algorithm
-                                generator.step();
-                                mazeController.renderMaze(true);
-                                // Show the next frame (aka character) of the spinner text
-                                // Update the label that show the spinner text
-                                labelStatus.setText(spinner.nextFrame());
-                            } else {
-                                // When the algorithm has finished
-                                stop();
-                                if (onGenerationFinished != null) onGenerationFinished.run();
-                            }
+                        // The speed is in steps per second, a frame can do thousands of steps
+                        if (lastUpdate != 0) pendingSteps += Math.min(now - lastUpdate, MAX_FRAME_NANOS) * spinnerSpeed.getValue() / 1e9;
+                        lastUpdate = now;
+                        if (pendingSteps < 1) return;
+
+                        int budget = (int) Math.min(pendingSteps, Integer.MAX_VALUE);
+                        pendingSteps -= budget;
+
+                        if (!generator.isComplete()) {
+                            // Show the steps of the algorithm, only the tiles changed are drawn again
+                            generator.step(budget);
+                            mazeController.renderCells(generator.getChangedCells(), true);
+                            // Show the next frame (aka character) of the spinner text
+                            // Update the label that show the spinner text
+                            labelStatus.setText(spinner.nextFrame());
+                        } else {
+                            // When the algorithm has finished
+                            stop();
+                            if (onGenerationFinished != null) onGenerationFinished.run();
                         }
                     }
                 };
@@ -1,5 +1,7 @@
 package controller;
 
+import algorithms.AStarSolver;
+import algorithms.BidirectionalBreadthFirstSolver;
 import algorithms.BreadthFirstSolver;
 import algorithms.DjikstraSolver;
 import algorithms.ISolverAlgorithm;
@@ -9,7 +11,7 @@ import enums.SolveAlgorithms;
 import javafx.animation.AnimationTimer;
 import javafx.scene.control.Label;
 import javafx.scene.control.Spinner;
-import utils.Helpers;
+import model.MazeModel;
 import utils.SpinnerText;
 
 /**
@@ -161,29 +163,49 @@ public class MazeSolverController extends Controller {
             return;
 
         mazeController.isGenerating = true;
-        
-        mazeController.resetTileStatus();
 
         if (onSolvingStarted != null) onSolvingStarted.run();;
 
-        switch (selectedAlgorithm) {
-            case SolveAlgorithms.DFS:
-                solverAlgorithm = new RecursiveMazeSolver(mazeController.maze);
-                break;
+        // The walls can't be edited while solving, a snapshot is only taken when it doesn't copy the maze
+        MazeModel maze = mazeController.maze.snapshotIfShared();
 
-            case SolveAlgorithms.BFS:
-                solverAlgorithm = new BreadthFirstSolver(mazeController.maze);
-                break;
+        try {
+            switch (selectedAlgorithm) {
+                case SolveAlgorithms.DFS:
+                    solverAlgorithm = new RecursiveMazeSolver(maze);
+                    break;
 
-            case SolveAlgorithms.DJIKSTRA:
-                solverAlgorithm = new DjikstraSolver(mazeController.maze);
-                break;
-        
-            default:
-                break;
+                case SolveAlgorithms.BFS:
+                    solverAlgorithm = new BreadthFirstSolver(maze);
+                    break;
+
+                case SolveAlgorithms.DJIKSTRA:
+                    solverAlgorithm = new DjikstraSolver(maze);
+                    break;
+
+                case SolveAlgorithms.ASTAR:
+                    solverAlgorithm = new AStarSolver(maze);
+                    break;
+
+                case SolveAlgorithms.BIDIRECTIONAL_BFS:
+                    solverAlgorithm = new BidirectionalBreadthFirstSolver(maze);
+                    break;
+
+                default:
+                    break;
+            }
+        } catch (IllegalArgumentException e) {
+            // The structures of the solver don't fit in the heap for this maze
+            solverAlgorithm = null;
+            mazeController.isGenerating = false;
+            labelStatus.setText("Labyrinthe trop grand pour cet algorithme");
+            if (onSolvingFinished != null) onSolvingFinished.run();
+            return;
         }
 
         if (solverAlgorithm != null){
+            // Show the tiles of this solver, the maze itself isn't modified by solving
+            mazeController.setSolverState(solverAlgorithm.getSolverState());
             switch (selectedMode) {
                 case GenerationMode.COMPLETE:
                     while (!solverAlgorithm.isComplete()){
@@ -196,24 +218,38 @@ public class MazeSolverController extends Controller {
                 case GenerationMode.STEP:
                     SpinnerText spinner = new SpinnerText(4);
                     labelStatus.setText(spinner.getCurrentFrame());
+                    // Draw the whole maze once, then each frame only draws the tiles changed
+                    mazeController.renderMaze(false);
+                    solverAlgorithm.getSolverState().startRecording();
     
                     solverTimer = new AnimationTimer() {
                         private long lastUpdate = 0;
+                        // Steps due but not done yet, the first frame does one step
+                        private double pendingSteps = 1;
                         
                         @Override
                         public void handle(long now) {
-                            if (now - lastUpdate >= Helpers.fpsToNanos(spinnerSpeed.getValue())) {
-                                lastUpdate = now;
-    
-                                boolean done = solverAlgorithm.step();
-                                mazeController.renderMaze(false);
-                                updateSolverLabels();
-                                spinner.nextFrame();
-                                labelStatus.setText(spinner.getCurrentFrame());
-                                if (done){
-                                    stop();
-                                    finishedSolving();
-                                } 
+                            // The speed is in steps per second, a frame can do thousands of steps
+                            if (lastUpdate != 0) pendingSteps += Math.min(now - lastUpdate, MAX_FRAME_NANOS) * spinnerSpeed.getValue() / 1e9;
+                            lastUpdate = now;
+                            if (pendingSteps < 1) return;
+
+                            int budget = (int) Math.min(pendingSteps, Integer.MAX_VALUE);
+                            pendingSteps -= budget;
+
+                            boolean done = false;
+                            for (int i = 0; i < budget && !done; i++){
+                                done = solverAlgorithm.step();
+                            }
+                            // Only the tiles whose status changed are drawn again
+                            mazeController.renderCells(solverAlgorithm.getSolverState().getChangedCells(), false);
+                            updateSolverLabels();
+                            spinner.nextFrame();
+                            labelStatus.setText(spinner.getCurrentFrame());
+                            if (done){
+                                stop();
+                                solverAlgorithm.getSolverState().stopRecording();
+                                finishedSolving();
                             }
                         }
                     };
@@ -0,0 +1,36 @@
+package enums;
+
+/**
+ * Enum of the algorithms available for generating.
+ */
+public enum GenerationAlgorithms {
+    /** Kruskal's algorithm */
+    KRUSKAL,
+
+    /** Prim's algorithm */
+    PRIM,
+
+    /** Recursive backtracker, with an explicit stack */
+    BACKTRACKER,
+
+    /** Wilson's algorithm */
+    WILSON,
+
+    /** Binary tree */
+    BINARY_TREE,
+
+    /** Sidewinder */
+    SIDEWINDER,
+
+    /** Kruskal's algorithm, the edges taken in the order of a permutation computed on the fly */
+    KRUSKAL_IMPLICIT,
+
+    /** Kruskal's algorithm on every core, the whole maze at once */
+    PARALLEL_KRUSKAL,
+
+    /** Kruskal's algorithm on square blocks generated in parallel, then stitched */
+    BLOCK_PARALLEL,
+
+    /** Binary tree on 64 tiles at a time, the whole maze at once */
+    PACKED_BINARY_TREE
+}
@@ -11,5 +11,11 @@ public enum SolveAlgorithms {
     BFS,
 
     /** Dijkstra's algorithm */
-    DJIKSTRA
+    DJIKSTRA,
+
+    /** A* search, guided by the Manhattan distance to the end */
+    ASTAR,
+
+    /** Breadth-First Search from both the start and the end */
+    BIDIRECTIONAL_BFS
 }
\ No newline at end of file
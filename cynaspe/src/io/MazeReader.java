@@ -1,13 +1,10 @@
 package io;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
-import java.nio.file.Path;
-import java.util.List;
-import java.util.Map;
 
-import enums.WallDirection;
 import model.MazeModel;
 import model.TileModel;
 
@@ -15,6 +12,8 @@ import model.TileModel;
  * Class responsible for reading maze data from a file.
  * <p>
  * Provides a static method to parse a maze file and create a {@code MazeModel}.
+ * The file is read a line at a time, and a maze too large for the heap is stored
+ * in a temporary mapped file, see {@code MazeModel.create}.
  * </p>
  */
 public class MazeReader {
@@ -33,15 +32,12 @@ public class MazeReader {
      * A {@code MazeModel} generated from the file
      */
     public static MazeModel read(File file){
-        Path path = file.toPath();
-        try {
-
-            List<String> lines = Files.readAllLines(path);
-            if (lines.isEmpty()) {
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath())) {
+            // Get the first line, which contains the size of the maze
+            String firstLine = reader.readLine();
+            if (firstLine == null) {
                 throw new IllegalArgumentException("Maze file is empty");
             }
-            // Get the first line, which contains the size of the maze
-            String firstLine = lines.get(0);
             // Separate the strings of the first line, by separating the ","
             String[] mazeSizeParts = firstLine.split(",");
             if (mazeSizeParts.length != 2) {
@@ -56,10 +52,10 @@ public class MazeReader {
                 throw new IllegalArgumentException("Maze size must be integers", e);
             }
 
-            TileModel[][] tiles = new TileModel[numRows][numCols];
+            MazeModel maze = MazeModel.create(numRows, numCols);
             // For each line, read the written tile
-            for (int i = 1; i < lines.size(); i++) {
-                String line = lines.get(i);
+            String line;
+            for (int i = 1; (line = reader.readLine()) != null; i++) {
                 if (line.isEmpty()) continue; // skip empty lines
 
                 // Split the parts of the line
@@ -88,12 +84,11 @@ public class MazeReader {
                 if (wallBits.length() != 4 || !wallBits.matches("[01]{4}")) {
                     throw new IllegalArgumentException("At line " + (i+1) + " : wallBits must be 4 characters of '0' or '1' on line ");
                 }
-                // Get the wall of the tile
-                Map<WallDirection, Boolean> walls = TileModel.getWalls(wallBits);
-                tiles[row][col] = new TileModel(row, col, walls);
+                // Get the wall of the tile and write them in the maze
+                maze.setWallMask(row, col, TileModel.getWallMask(wallBits));
             }
 
-            return new MazeModel(tiles);
+            return maze;
             
         } catch (IOException e) {
             e.printStackTrace();
@@ -0,0 +1,141 @@
+package io;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+import enums.WallDirection;
+
+/**
+ * Class responsible for writing a maze file row by row.
+ * <p>
+ * The rows are written as soon as they are given, so a maze can be written
+ * without being in memory. The file has the same format as the one of {@code MazeWriter}.
+ * </p>
+ */
+public class MazeStreamWriter implements Closeable {
+    /**
+     * Where the maze is written.
+     */
+    private final Writer writer;
+
+    /**
+     * The number of rows of the maze.
+     */
+    private final int numRows;
+
+    /**
+     * The number of columns of the maze.
+     */
+    private final int numCols;
+
+    /**
+     * The next row to write.
+     */
+    private int nextRow = 0;
+
+    /**
+     * Buffer holding a line of the file, reused for each tile.
+     */
+    private final StringBuilder line = new StringBuilder();
+
+    /**
+     * Open a file and write the size of the maze
+     * @param file
+     * The file where we want to write the maze
+     * @param numRows
+     * The number of rows of the maze
+     * @param numCols
+     * The number of columns of the maze
+     * @throws IOException
+     * if the file can't be written
+     */
+    public MazeStreamWriter(File file, int numRows, int numCols) throws IOException {
+        this(new FileWriter(file), numRows, numCols);
+    }
+
+    /**
+     * Write the size of the maze on a writer
+     * @param writer
+     * Where we want to write the maze, it is closed with this stream
+     * @param numRows
+     * The number of rows of the maze
+     * @param numCols
+     * The number of columns of the maze
+     * @throws IOException
+     * if the writer fails
+     */
+    public MazeStreamWriter(Writer writer, int numRows, int numCols) throws IOException {
+        if (numRows <= 0 || numCols <= 0) {
+            throw new IllegalArgumentException("Number of rows and columns must be positive");
+        }
+        this.writer = new BufferedWriter(writer);
+        this.numRows = numRows;
+        this.numCols = numCols;
+        // Write the number of rows and columns
+        this.writer.write(numRows + "," + numCols + "\n");
+    }
+
+    /**
+     * Write the next row of the maze
+     * @param wallMasks
+     * The walls of each tile of the row, a {@code int} where the bit {@code 1 << direction.ordinal()}
+     * is set for each wall present
+     * @throws IOException
+     * if the writer fails
+     */
+    public void writeRow(int[] wallMasks) throws IOException {
+        if (nextRow >= numRows) {
+            throw new IllegalStateException("Every row of the maze has already been written");
+        }
+        if (wallMasks.length < numCols) {
+            throw new IllegalArgumentException("A row must have " + numCols + " tiles");
+        }
+        for (int column = 0; column < numCols; column++){
+            // row,column,wallsBits
+            // Example : row = 0, column = 1, walls = TOP, RIGHT
+            // = 0,1,1100
+            int mask = wallMasks[column];
+            line.setLength(0);
+            line.append(nextRow).append(',').append(column).append(',');
+            // Same order as TileModel.getWallBits, TOP -> RIGHT -> BOTTOM -> LEFT
+            line.append(bit(mask, WallDirection.TOP)).append(bit(mask, WallDirection.RIGHT));
+            line.append(bit(mask, WallDirection.BOTTOM)).append(bit(mask, WallDirection.LEFT));
+            line.append('\n');
+            writer.append(line);
+        }
+        nextRow++;
+    }
+
+    /**
+     * Get the character of a wall in a wall mask
+     * @param mask
+     * The wall mask of a tile
+     * @param direction
+     * The direction of the wall
+     * @return
+     * {@code '1'} if there's a wall, {@code '0'} if not
+     */
+    private static char bit(int mask, WallDirection direction){
+        return (mask & (1 << direction.ordinal())) != 0 ? '1' : '0';
+    }
+
+    /**
+     * Write what is left in the buffer and close the file
+     * @throws IOException
+     * if the writer fails
+     * @throws IllegalStateException
+     * if some rows haven't been written, the file is closed anyway
+     */
+    @Override
+    public void close() throws IOException {
+        writer.close();
+        // The rows missing would be read back as tiles with every wall
+        if (nextRow != numRows) {
+            throw new IllegalStateException("Only " + nextRow + " of the " + numRows + " rows have been written");
+        }
+    }
+}
@@ -1,11 +1,9 @@
 package io;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 
 import model.MazeModel;
-import model.TileModel;
 
 /**
  * Class responsible for writing maze data to a file.
@@ -29,18 +27,14 @@ public class MazeWriter {
      * The file where we want to write the file
      */
     public static void write(MazeModel maze, File file){
-        try (FileWriter writer = new FileWriter(file)){
-            // Write the number of rows and columns
-            writer.write(String.format("%d,%d\n", maze.numRows, maze.numCols));
-            for (TileModel[] row : maze.tiles){
-                for (TileModel tile: row){
-                    // row,column,wallsBits
-                    // Example : row = 0, column = 1, walls = TOP, RIGHT
-                    // = 0,1,1100
-                    writer.write(String.format("%d,%d,%s\n", tile.row, tile.column, tile.getWallBits()));
+        try (MazeStreamWriter writer = new MazeStreamWriter(file, maze.numRows, maze.numCols)){
+            int[] wallMasks = new int[maze.numCols];
+            for (int row = 0; row < maze.numRows; row++){
+                for (int column = 0; column < maze.numCols; column++){
+                    wallMasks[column] = maze.getWallMask(row, column);
                 }
+                writer.writeRow(wallMasks);
             }
-            writer.close();
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -0,0 +1,102 @@
+package io;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import model.MazeModel;
+
+/**
+ * Class responsible for reading the costs of the tiles of a maze from a file.
+ * <p>
+ * The first line is the size of the maze, {@code rows,cols}, then each line is a tile
+ * and the cost of entering it, {@code row,col,cost}. The tiles not in the file cost 1.
+ * The costs are used by {@code DjikstraSolver} to find the least costly path.
+ * </p>
+ */
+public class TileCostReader {
+    /**
+     * Default constructor.
+     */
+    public TileCostReader() {
+
+    }
+
+    /**
+     * Read a file of tile costs for a maze
+     * @param file
+     * The file to get the costs from
+     * @param maze
+     * The maze the costs are for, its size must be the size of the file
+     * @return
+     * A {@code int[]} of the cost of each tile, by cell id
+     */
+    public static int[] read(File file, MazeModel maze){
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath())) {
+            // Get the first line, which contains the size of the maze
+            String firstLine = reader.readLine();
+            if (firstLine == null) {
+                throw new IllegalArgumentException("Cost file is empty");
+            }
+            String[] sizeParts = firstLine.split(",");
+            if (sizeParts.length != 2) {
+                throw new IllegalArgumentException("First line must contain two integers seperated by ,");
+            }
+            int numRows, numCols;
+            try {
+                numRows = Integer.parseInt(sizeParts[0].trim());
+                numCols = Integer.parseInt(sizeParts[1].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Maze size must be integers", e);
+            }
+            if (numRows != maze.numRows || numCols != maze.numCols) {
+                throw new IllegalArgumentException("The costs are for a maze of " + numRows + " x " + numCols + ", not " + maze.numRows + " x " + maze.numCols);
+            }
+
+            // The distance of a path through every tile must fit in an int, as in the solver
+            int maxCost = Integer.MAX_VALUE / maze.getCellCount();
+            // Every tile not in the file costs 1, like without costs
+            int[] tileCosts = new int[maze.getCellCount()];
+            Arrays.fill(tileCosts, 1);
+
+            // For each line, read the cost of a tile
+            String line;
+            for (int i = 1; (line = reader.readLine()) != null; i++) {
+                if (line.isEmpty()) continue; // skip empty lines
+
+                String[] parts = line.split(",");
+                if (parts.length != 3) {
+                    throw new IllegalArgumentException("Line " + (i+1) + " : must have 3 parts: row,col,cost");
+                }
+
+                int row;
+                int col;
+                int cost;
+                try {
+                    row = Integer.parseInt(parts[0].trim());
+                    col = Integer.parseInt(parts[1].trim());
+                    cost = Integer.parseInt(parts[2].trim());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Line " + (i+1) + " : Row, column and cost must be integers", e);
+                }
+
+                // Check if the row or column are inside the maze
+                if (row < 0 || row >= numRows || col < 0 || col >= numCols) {
+                    throw new IndexOutOfBoundsException("Line " + (i+1) + " : Row or column are outside the maze");
+                }
+                if (cost < 0 || cost > maxCost) {
+                    throw new IllegalArgumentException("Line " + (i+1) + " : Cost must be between 0 and " + maxCost);
+                }
+                tileCosts[maze.getCellId(row, col)] = cost;
+            }
+
+            return tileCosts;
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read the cost file " + file, e);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package model;
+
+import java.util.Arrays;
+
+import enums.WallDirection;
+
+/**
+ * Storage of a maze in parallel primitive arrays on the heap.
+ * <p>
+ * The walls are packed bit sets, one bit per tile.
+ * </p>
+ */
+public class ArrayMazeStorage implements IMazeStorage {
+    /**
+     * The number of rows stored.
+     */
+    private final int numRows;
+
+    /**
+     * The number of columns stored.
+     */
+    private final int numCols;
+
+    /**
+     * Bit grid of the right walls, one bit per tile, set when the wall is present.
+     */
+    private final long[] rightWalls;
+
+    /**
+     * Bit grid of the bottom walls, one bit per tile, set when the wall is present.
+     */
+    private final long[] bottomWalls;
+
+    /**
+     * Top walls of the first row, one bit per column.
+     */
+    private final long[] topBorder;
+
+    /**
+     * Left walls of the first column, one bit per row.
+     */
+    private final long[] leftBorder;
+
+    /**
+     * Construct a storage with every wall present
+     * @param numRows
+     * The number of rows
+     * @param numCols
+     * The number of columns
+     */
+    public ArrayMazeStorage(int numRows, int numCols){
+        if (numRows <= 0 || numCols <= 0) {
+            throw new IllegalArgumentException("Number of rows and columns must be positive");
+        }
+        if ((long) numRows * numCols > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Maze cannot have more than " + Integer.MAX_VALUE + " tiles");
+        }
+        this.numRows = numRows;
+        this.numCols = numCols;
+        int cellCount = numRows * numCols;
+        rightWalls = newFilledBits(cellCount);
+        bottomWalls = newFilledBits(cellCount);
+        topBorder = newFilledBits(numCols);
+        leftBorder = newFilledBits(numRows);
+    }
+
+    /**
+     * Construct a copy of a storage
+     * @param source
+     * The storage to copy
+     */
+    private ArrayMazeStorage(ArrayMazeStorage source){
+        numRows = source.numRows;
+        numCols = source.numCols;
+        rightWalls = source.rightWalls.clone();
+        bottomWalls = source.bottomWalls.clone();
+        topBorder = source.topBorder.clone();
+        leftBorder = source.leftBorder.clone();
+    }
+
+    /**
+     * Create a bit array with all the bits set
+     * @param size
+     * The number of bits
+     * @return
+     * A {@code long[]} large enough to hold {@code size} bits, all set to 1
+     */
+    private static long[] newFilledBits(int size){
+        long[] bits = new long[(size + 63) >>> 6];
+        Arrays.fill(bits, -1L);
+        return bits;
+    }
+
+    /**
+     * Read a bit of a bit array
+     * @param bits
+     * The bit array
+     * @param index
+     * The index of the bit
+     * @return
+     * {@code true} if the bit is set, {@code false} if not
+     */
+    private static boolean getBit(long[] bits, int index){
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Write a bit of a bit array
+     * @param bits
+     * The bit array
+     * @param index
+     * The index of the bit
+     * @param value
+     * {@code true} to set the bit, {@code false} to clear it
+     */
+    private static void setBit(long[] bits, int index, boolean value){
+        if (value) {
+            bits[index >>> 6] |= (1L << index);
+        } else {
+            bits[index >>> 6] &= ~(1L << index);
+        }
+    }
+
+    /**
+     * Write several bits of a bit array
+     * @param bits
+     * The bit array
+     * @param index
+     * The index of the first bit
+     * @param value
+     * The bits to write, the lowest bit first
+     * @param count
+     * The number of bits to write, between 1 and 64
+     */
+    private static void setBits(long[] bits, int index, long value, int count){
+        long mask = count == 64 ? -1L : (1L << count) - 1;
+        value &= mask;
+        int word = index >>> 6;
+        int shift = index & 63;
+        bits[word] = (bits[word] & ~(mask << shift)) | (value << shift);
+        // The bits going past the end of the word are in the next one
+        if (shift + count > 64) {
+            int written = 64 - shift;
+            bits[word + 1] = (bits[word + 1] & ~(mask >>> written)) | (value >>> written);
+        }
+    }
+
+    @Override
+    public int getNumRows(){
+        return numRows;
+    }
+
+    @Override
+    public int getNumCols(){
+        return numCols;
+    }
+
+    @Override
+    public boolean hasRightWall(int cell){
+        return getBit(rightWalls, cell);
+    }
+
+    @Override
+    public void setRightWall(int cell, boolean wall){
+        setBit(rightWalls, cell, wall);
+    }
+
+    @Override
+    public boolean hasBottomWall(int cell){
+        return getBit(bottomWalls, cell);
+    }
+
+    @Override
+    public void setBottomWall(int cell, boolean wall){
+        setBit(bottomWalls, cell, wall);
+    }
+
+    @Override
+    public boolean hasTopBorderWall(int column){
+        return getBit(topBorder, column);
+    }
+
+    @Override
+    public void setTopBorderWall(int column, boolean wall){
+        setBit(topBorder, column, wall);
+    }
+
+    @Override
+    public boolean hasLeftBorderWall(int row){
+        return getBit(leftBorder, row);
+    }
+
+    @Override
+    public void setLeftBorderWall(int row, boolean wall){
+        setBit(leftBorder, row, wall);
+    }
+
+    @Override
+    public int getOpenDirections(int cell){
+        int column = cell % numCols;
+        int mask = 0;
+        if (cell >= numCols && !getBit(bottomWalls, cell - numCols)) mask |= 1 << WallDirection.TOP.ordinal();
+        if (column != numCols - 1 && !getBit(rightWalls, cell)) mask |= 1 << WallDirection.RIGHT.ordinal();
+        if (cell < (numRows - 1) * numCols && !getBit(bottomWalls, cell)) mask |= 1 << WallDirection.BOTTOM.ordinal();
+        if (column != 0 && !getBit(rightWalls, cell - 1)) mask |= 1 << WallDirection.LEFT.ordinal();
+        return mask;
+    }
+
+    @Override
+    public void setRowWalls(int row, long[] rightWalls, long[] bottomWalls){
+        int first = row * numCols;
+        for (int word = 0; word << 6 < numCols; word++){
+            int count = Math.min(64, numCols - (word << 6));
+            setBits(this.rightWalls, first + (word << 6), rightWalls[word], count);
+            setBits(this.bottomWalls, first + (word << 6), bottomWalls[word], count);
+        }
+    }
+
+    @Override
+    public void reset(){
+        Arrays.fill(rightWalls, -1L);
+        Arrays.fill(bottomWalls, -1L);
+        Arrays.fill(topBorder, -1L);
+        Arrays.fill(leftBorder, -1L);
+    }
+
+    @Override
+    public IMazeStorage snapshot(){
+        // The bit grids can't be shared, the snapshot is a full copy
+        return new ArrayMazeStorage(this);
+    }
+
+    @Override
+    public boolean isSnapshotShared(){
+        return false;
+    }
+
+    @Override
+    public SolverState createSolverState(){
+        return new ArraySolverState(numRows * numCols);
+    }
+}
@@ -0,0 +1,30 @@
+package model;
+
+/**
+ * State of a solver stored in a byte array on the heap.
+ */
+public class ArraySolverState extends SolverState {
+    /**
+     * The state byte of each cell.
+     */
+    private final byte[] states;
+
+    /**
+     * Construct a state where no cell has been reached
+     * @param cellCount
+     * The number of cells of the maze
+     */
+    public ArraySolverState(int cellCount){
+        states = new byte[cellCount];
+    }
+
+    @Override
+    protected int getByte(int cell){
+        return states[cell] & 0xFF;
+    }
+
+    @Override
+    protected void putByte(int cell, int value){
+        states[cell] = (byte) value;
+    }
+}
@@ -0,0 +1,324 @@
+package model;
+
+import java.util.Arrays;
+
+import enums.WallDirection;
+
+/**
+ * Storage of a maze split in square chunks of 64 x 64 tiles.
+ * <p>
+ * Each chunk is a single {@code long[]} made of bit planes, one {@code long} per row of the chunk,
+ * so the tiles above and below a tile are in the next words of the same array instead of another row array.
+ * A chunk is only allocated the first time one of its tiles is changed, a chunk that was never
+ * touched is a block of tiles with every wall, so a large grid only pays for the tiles carved.
+ * </p>
+ * <p>
+ * The chunks are copy-on-write: a snapshot shares all the chunks of the storage, and a chunk
+ * is only copied the first time it is changed after the snapshot, by the snapshot or by the storage.
+ * A shared chunk is never changed, so a snapshot can be read from another thread while the storage is edited.
+ * </p>
+ * <pre>
+ * plane 0     right wall removed
+ * plane 1     bottom wall removed
+ * </pre>
+ */
+public class ChunkedMazeStorage implements IMazeStorage {
+    /** Size of a chunk side, as a power of two */
+    private static final int CHUNK_SHIFT = 6;
+    /** Size of a chunk side */
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    /** Mask of the position inside a chunk */
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    /** Plane of the removed right walls */
+    private static final int RIGHT_OPEN = 0;
+    /** Plane of the removed bottom walls */
+    private static final int BOTTOM_OPEN = 1;
+    /** Number of planes in a chunk */
+    private static final int PLANES = 2;
+
+    /**
+     * The number of rows stored.
+     */
+    private final int numRows;
+
+    /**
+     * The number of columns stored.
+     */
+    private final int numCols;
+
+    /**
+     * The number of chunks in a row of chunks.
+     */
+    private final int chunksPerRow;
+
+    /**
+     * The chunks, row of chunks by row of chunks, {@code null} until they are touched.
+     */
+    private final long[][] chunks;
+
+    /**
+     * For each chunk, {@code true} if the chunk belongs to this storage only and can be changed in place,
+     * {@code false} if it may be shared with a snapshot.
+     */
+    private final boolean[] owned;
+
+    /**
+     * Top walls of the first row, one bit per column, set when the wall is removed.
+     */
+    private final long[] topBorderOpen;
+
+    /**
+     * Left walls of the first column, one bit per row, set when the wall is removed.
+     */
+    private final long[] leftBorderOpen;
+
+    /**
+     * Construct a storage with every wall present,
+     * no chunk is allocated yet
+     * @param numRows
+     * The number of rows
+     * @param numCols
+     * The number of columns
+     */
+    public ChunkedMazeStorage(int numRows, int numCols){
+        if (numRows <= 0 || numCols <= 0) {
+            throw new IllegalArgumentException("Number of rows and columns must be positive");
+        }
+        if ((long) numRows * numCols > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Maze cannot have more than " + Integer.MAX_VALUE + " tiles");
+        }
+        this.numRows = numRows;
+        this.numCols = numCols;
+        chunksPerRow = (numCols + CHUNK_MASK) >>> CHUNK_SHIFT;
+        int chunkRows = (numRows + CHUNK_MASK) >>> CHUNK_SHIFT;
+        chunks = new long[chunkRows * chunksPerRow][];
+        owned = new boolean[chunks.length];
+        topBorderOpen = new long[(numCols + 63) >>> 6];
+        leftBorderOpen = new long[(numRows + 63) >>> 6];
+    }
+
+    /**
+     * Construct a snapshot sharing the chunks of a storage
+     * @param source
+     * The storage to take the snapshot of
+     */
+    private ChunkedMazeStorage(ChunkedMazeStorage source){
+        numRows = source.numRows;
+        numCols = source.numCols;
+        chunksPerRow = source.chunksPerRow;
+        chunks = source.chunks.clone();
+        owned = new boolean[chunks.length];
+        topBorderOpen = source.topBorderOpen.clone();
+        leftBorderOpen = source.leftBorderOpen.clone();
+    }
+
+    /**
+     * Get the number of chunks allocated
+     * @return
+     * A {@code int} of the chunks that have been touched
+     */
+    public int getAllocatedChunkCount(){
+        int count = 0;
+        for (long[] chunk : chunks){
+            if (chunk != null) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Get the index of the chunk holding a cell
+     * @param row
+     * The row of the cell
+     * @param column
+     * The column of the cell
+     * @return
+     * A {@code int} of the chunk index
+     */
+    private int chunkIndex(int row, int column){
+        return (row >>> CHUNK_SHIFT) * chunksPerRow + (column >>> CHUNK_SHIFT);
+    }
+
+    /**
+     * Read a bit of a plane
+     * @param cell
+     * The cell id
+     * @param plane
+     * The plane of the bit
+     * @return
+     * {@code true} if the bit is set, {@code false} if not or if the chunk was never touched
+     */
+    private boolean getBit(int cell, int plane){
+        int row = cell / numCols;
+        int column = cell - row * numCols;
+        long[] chunk = chunks[chunkIndex(row, column)];
+        if (chunk == null) return false;
+        return (chunk[(plane << CHUNK_SHIFT) | (row & CHUNK_MASK)] & (1L << column)) != 0;
+    }
+
+    /**
+     * Write a bit of a plane, allocating the chunk if the bit is set on a chunk never touched
+     * @param cell
+     * The cell id
+     * @param plane
+     * The plane of the bit
+     * @param value
+     * {@code true} to set the bit, {@code false} to clear it
+     */
+    private void setBit(int cell, int plane, boolean value){
+        int row = cell / numCols;
+        int column = cell - row * numCols;
+        int index = chunkIndex(row, column);
+        // A cleared bit is already the value of a chunk never touched
+        if (!value && chunks[index] == null) return;
+        long[] chunk = getWritableChunk(index);
+        int word = (plane << CHUNK_SHIFT) | (row & CHUNK_MASK);
+        // The shift of a long only uses the 6 lowest bits, that is the column inside the chunk
+        if (value) chunk[word] |= 1L << column;
+        else chunk[word] &= ~(1L << column);
+    }
+
+    /**
+     * Get a chunk that can be changed, allocating it if it was never touched
+     * or copying it if it may be shared with a snapshot
+     * @param index
+     * The index of the chunk
+     * @return
+     * The {@code long[]} of the chunk, owned by this storage
+     */
+    private long[] getWritableChunk(int index){
+        long[] chunk = chunks[index];
+        if (chunk == null) {
+            chunk = new long[PLANES << CHUNK_SHIFT];
+            chunks[index] = chunk;
+            owned[index] = true;
+        } else if (!owned[index]) {
+            // The chunk may be read by a snapshot, change a copy of it
+            chunk = chunk.clone();
+            chunks[index] = chunk;
+            owned[index] = true;
+        }
+        return chunk;
+    }
+
+    @Override
+    public int getNumRows(){
+        return numRows;
+    }
+
+    @Override
+    public int getNumCols(){
+        return numCols;
+    }
+
+    @Override
+    public boolean hasRightWall(int cell){
+        return !getBit(cell, RIGHT_OPEN);
+    }
+
+    @Override
+    public void setRightWall(int cell, boolean wall){
+        setBit(cell, RIGHT_OPEN, !wall);
+    }
+
+    @Override
+    public boolean hasBottomWall(int cell){
+        return !getBit(cell, BOTTOM_OPEN);
+    }
+
+    @Override
+    public void setBottomWall(int cell, boolean wall){
+        setBit(cell, BOTTOM_OPEN, !wall);
+    }
+
+    @Override
+    public boolean hasTopBorderWall(int column){
+        return (topBorderOpen[column >>> 6] & (1L << column)) == 0;
+    }
+
+    @Override
+    public void setTopBorderWall(int column, boolean wall){
+        if (wall) topBorderOpen[column >>> 6] &= ~(1L << column);
+        else topBorderOpen[column >>> 6] |= 1L << column;
+    }
+
+    @Override
+    public boolean hasLeftBorderWall(int row){
+        return (leftBorderOpen[row >>> 6] & (1L << row)) == 0;
+    }
+
+    @Override
+    public void setLeftBorderWall(int row, boolean wall){
+        if (wall) leftBorderOpen[row >>> 6] &= ~(1L << row);
+        else leftBorderOpen[row >>> 6] |= 1L << row;
+    }
+
+    @Override
+    public int getOpenDirections(int cell){
+        // The chunk of the cell is found once, the top and left neighbors only look
+        // for another chunk when they are on the edge of the chunk
+        int row = cell / numCols;
+        int column = cell - row * numCols;
+        long[] chunk = chunks[chunkIndex(row, column)];
+        int rowInChunk = row & CHUNK_MASK;
+        long bit = 1L << column;
+        int mask = 0;
+        if (chunk != null){
+            if (column != numCols - 1 && (chunk[(RIGHT_OPEN << CHUNK_SHIFT) | rowInChunk] & bit) != 0) mask |= 1 << WallDirection.RIGHT.ordinal();
+            if (row != numRows - 1 && (chunk[(BOTTOM_OPEN << CHUNK_SHIFT) | rowInChunk] & bit) != 0) mask |= 1 << WallDirection.BOTTOM.ordinal();
+        }
+        if (row > 0){
+            long[] top = rowInChunk != 0 ? chunk : chunks[chunkIndex(row - 1, column)];
+            if (top != null && (top[(BOTTOM_OPEN << CHUNK_SHIFT) | ((row - 1) & CHUNK_MASK)] & bit) != 0) mask |= 1 << WallDirection.TOP.ordinal();
+        }
+        if (column > 0){
+            long[] left = (column & CHUNK_MASK) != 0 ? chunk : chunks[chunkIndex(row, column - 1)];
+            if (left != null && (left[(RIGHT_OPEN << CHUNK_SHIFT) | rowInChunk] & (1L << (column - 1))) != 0) mask |= 1 << WallDirection.LEFT.ordinal();
+        }
+        return mask;
+    }
+
+    @Override
+    public void setRowWalls(int row, long[] rightWalls, long[] bottomWalls){
+        // A row of a chunk is a word of each plane, the words of the row are the chunks of the row
+        for (int chunkColumn = 0; chunkColumn < chunksPerRow; chunkColumn++){
+            int count = Math.min(CHUNK_SIZE, numCols - (chunkColumn << CHUNK_SHIFT));
+            long mask = count == 64 ? -1L : (1L << count) - 1;
+            long rightOpen = ~rightWalls[chunkColumn] & mask;
+            long bottomOpen = ~bottomWalls[chunkColumn] & mask;
+            int index = chunkIndex(row, chunkColumn << CHUNK_SHIFT);
+            if (rightOpen == 0 && bottomOpen == 0 && chunks[index] == null) continue;
+            long[] chunk = getWritableChunk(index);
+            chunk[(RIGHT_OPEN << CHUNK_SHIFT) | (row & CHUNK_MASK)] = rightOpen;
+            chunk[(BOTTOM_OPEN << CHUNK_SHIFT) | (row & CHUNK_MASK)] = bottomOpen;
+        }
+    }
+
+    @Override
+    public void reset(){
+        for (int index = 0; index < chunks.length; index++){
+            // The chunks owned are cleared to be reused, the chunks shared with a snapshot are dropped
+            if (owned[index]) Arrays.fill(chunks[index], 0L);
+            else chunks[index] = null;
+        }
+        Arrays.fill(topBorderOpen, 0L);
+        Arrays.fill(leftBorderOpen, 0L);
+    }
+
+    @Override
+    public IMazeStorage snapshot(){
+        // Only the table of the chunks is copied, the chunks are shared by both storages
+        Arrays.fill(owned, false);
+        return new ChunkedMazeStorage(this);
+    }
+
+    @Override
+    public boolean isSnapshotShared(){
+        return true;
+    }
+
+    @Override
+    public SolverState createSolverState(){
+        return new ArraySolverState(numRows * numCols);
+    }
+}
@@ -3,28 +3,28 @@ package model;
 /**
  * Represents an edge between two tiles in a maze.
  * <p>
- * This class models a connection or adjacency between two {@code TileModel} instances,
- * which can be used in maze generation or pathfinding algorithms.
+ * This class models a connection or adjacency between two cells of a {@code MazeModel},
+ * identified by their cell id, which can be used in maze generation or pathfinding algorithms.
  * </p>
  */
 public class EdgeModel {
-    /** The first tile connected by this edge */ 
-    public TileModel tile1; 
-    /** The second tile connected by this edge */ 
-    public TileModel tile2;
+    /** The cell id of the first tile connected by this edge */ 
+    public int cell1; 
+    /** The cell id of the second tile connected by this edge */ 
+    public int cell2;
 
     /**
      * Construct a edge connecting two tiles
-     * @param tile1
-     * The first tile
-     * @param tile2
-     * The second tile
+     * @param cell1
+     * The cell id of the first tile
+     * @param cell2
+     * The cell id of the second tile
      */
-    public EdgeModel(TileModel tile1, TileModel tile2){
-        if (tile1 == null || tile2 == null) {
-            throw new IllegalArgumentException("Tiles cannot be null");
+    public EdgeModel(int cell1, int cell2){
+        if (cell1 < 0 || cell2 < 0) {
+            throw new IllegalArgumentException("Cells cannot be negative");
         }
-        this.tile1 = tile1;
-        this.tile2 = tile2;
+        this.cell1 = cell1;
+        this.cell2 = cell2;
     }
 }
@@ -0,0 +1,147 @@
+package model;
+
+/**
+ * Interface for the storage of the data of a maze.
+ * <p>
+ * A {@code MazeModel} keeps the walls of its tiles in a storage,
+ * each tile being identified by its cell id ({@code row * numCols + column}).
+ * The wall between two tiles is stored once, as the right or bottom wall of the tile
+ * at the left or on the top. The walls on the top and left border are stored apart.
+ * </p>
+ */
+public interface IMazeStorage {
+    /**
+     * Get the number of rows stored
+     * @return
+     * A {@code int} of the number of rows
+     */
+    public int getNumRows();
+
+    /**
+     * Get the number of columns stored
+     * @return
+     * A {@code int} of the number of columns
+     */
+    public int getNumCols();
+
+    /**
+     * Check if a cell has a wall on its right
+     * @param cell
+     * The cell id
+     * @return
+     * {@code true} if there's a wall, {@code false} if not
+     */
+    public boolean hasRightWall(int cell);
+
+    /**
+     * Put or remove the right wall of a cell
+     * @param cell
+     * The cell id
+     * @param wall
+     * {@code true} to put the wall, {@code false} to remove it
+     */
+    public void setRightWall(int cell, boolean wall);
+
+    /**
+     * Check if a cell has a wall on its bottom
+     * @param cell
+     * The cell id
+     * @return
+     * {@code true} if there's a wall, {@code false} if not
+     */
+    public boolean hasBottomWall(int cell);
+
+    /**
+     * Put or remove the bottom wall of a cell
+     * @param cell
+     * The cell id
+     * @param wall
+     * {@code true} to put the wall, {@code false} to remove it
+     */
+    public void setBottomWall(int cell, boolean wall);
+
+    /**
+     * Check if a tile of the first row has a wall on its top
+     * @param column
+     * The column of the tile
+     * @return
+     * {@code true} if there's a wall, {@code false} if not
+     */
+    public boolean hasTopBorderWall(int column);
+
+    /**
+     * Put or remove the top wall of a tile of the first row
+     * @param column
+     * The column of the tile
+     * @param wall
+     * {@code true} to put the wall, {@code false} to remove it
+     */
+    public void setTopBorderWall(int column, boolean wall);
+
+    /**
+     * Check if a tile of the first column has a wall on its left
+     * @param row
+     * The row of the tile
+     * @return
+     * {@code true} if there's a wall, {@code false} if not
+     */
+    public boolean hasLeftBorderWall(int row);
+
+    /**
+     * Put or remove the left wall of a tile of the first column
+     * @param row
+     * The row of the tile
+     * @param wall
+     * {@code true} to put the wall, {@code false} to remove it
+     */
+    public void setLeftBorderWall(int row, boolean wall);
+
+    /**
+     * Get the directions where a cell can go, that is the directions with a neighbor
+     * inside the maze and no wall between them. Read by the solvers for each tile expanded
+     * @param cell
+     * The cell id
+     * @return
+     * A {@code int} where the bit {@code 1 << direction.ordinal()} is set for each open direction
+     */
+    public int getOpenDirections(int cell);
+
+    /**
+     * Put the right and bottom walls of a whole row of tiles, the walls on the borders are not changed
+     * @param row
+     * The row of the tiles
+     * @param rightWalls
+     * The right walls, the bit {@code column % 64} of the word {@code column / 64} is set when the tile has a wall
+     * @param bottomWalls
+     * The bottom walls, in the same order as the right walls
+     */
+    public void setRowWalls(int row, long[] rightWalls, long[] bottomWalls);
+
+    /**
+     * Put back every wall, in place, so the storage can be used for a new maze of the same size
+     */
+    public void reset();
+
+    /**
+     * Take a snapshot of the storage, the snapshot and the storage can then be changed
+     * without affecting each other. Must be called from the thread changing the storage
+     * @return
+     * A {@code IMazeStorage} with the walls of the storage at the time of the call
+     */
+    public IMazeStorage snapshot();
+
+    /**
+     * Check if a snapshot shares the walls of the storage, so taking one costs little
+     * @return
+     * {@code true} if only the walls changed afterwards are copied, {@code false} if a snapshot copies every wall
+     */
+    public boolean isSnapshotShared();
+
+    /**
+     * Create an empty solver state for the cells of the storage,
+     * kept in the same kind of memory as the storage
+     * @return
+     * A {@code SolverState} where no cell has been reached
+     */
+    public SolverState createSolverState();
+}
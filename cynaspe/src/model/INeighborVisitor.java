@@ -0,0 +1,22 @@
+package model;
+
+import enums.WallDirection;
+
+/**
+ * Interface for visiting the accessible neighbors of a cell without allocating a list.
+ * <p>
+ * Used with {@code MazeModel.forEachAccessibleNeighbor}, the visitor can be created once
+ * and reused for every cell.
+ * </p>
+ */
+@FunctionalInterface
+public interface INeighborVisitor {
+    /**
+     * Visit an accessible neighbor
+     * @param neighbor
+     * The cell id of the neighbor
+     * @param direction
+     * The direction to go from the cell to the neighbor
+     */
+    public void visit(int neighbor, WallDirection direction);
+}
@@ -0,0 +1,171 @@
+package model;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Array of bytes stored in a memory-mapped file, outside of the Java heap.
+ * <p>
+ * The file is mapped in segments of 1 GiB, so the array can be larger than
+ * a single {@code MappedByteBuffer} and larger than the heap.
+ * </p>
+ * <p>
+ * A temporary file is deleted as soon as it is mapped, the mapping stays valid and its space
+ * is freed once the array is closed or dropped. On a system that can't delete a mapped file,
+ * it is deleted on close, or when the program exits.
+ * </p>
+ */
+class MappedByteArray implements Closeable {
+    /** Size of a mapped segment, as a power of two */
+    private static final int SEGMENT_SHIFT = 30;
+    /** Mask of the position inside a segment */
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    /**
+     * The mapped segments of the file.
+     */
+    private MappedByteBuffer[] segments;
+
+    /**
+     * The number of bytes.
+     */
+    private final long size;
+
+    /**
+     * The temporary file still to delete, {@code null} if it is already deleted or the file isn't temporary.
+     */
+    private File temporaryFile;
+
+    /**
+     * Map a file as an array of bytes.
+     * If the file already has the size of the array, its content is kept,
+     * otherwise it is cleared to zeros.
+     * @param file
+     * The file to map
+     * @param size
+     * The number of bytes
+     */
+    MappedByteArray(File file, long size){
+        this.size = size;
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            if (randomAccessFile.length() != size) {
+                randomAccessFile.setLength(0);
+                randomAccessFile.setLength(size);
+            }
+            FileChannel channel = randomAccessFile.getChannel();
+            // A mapping stays valid after the channel is closed
+            segments = new MappedByteBuffer[(int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+            for (int i = 0; i < segments.length; i++){
+                long position = (long) i << SEGMENT_SHIFT;
+                segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, position, Math.min(SEGMENT_MASK + 1, size - position));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map the file " + file, e);
+        }
+    }
+
+    /**
+     * Map a temporary file as an array of zeros, the file is deleted once mapped
+     * @param size
+     * The number of bytes
+     * @return
+     * A {@code MappedByteArray} full of zeros
+     */
+    static MappedByteArray createTemporary(long size){
+        File file;
+        try {
+            file = File.createTempFile("maze", ".bin");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create the temporary file", e);
+        }
+
+        MappedByteArray array;
+        try {
+            array = new MappedByteArray(file, size);
+        } catch (RuntimeException e) {
+            file.delete();
+            throw e;
+        }
+        // The mapping stays valid without the file, if it can't be deleted yet it is deleted on close
+        if (!file.delete()) {
+            array.temporaryFile = file;
+            file.deleteOnExit();
+        }
+        return array;
+    }
+
+    /**
+     * Copy the array in a temporary file
+     * @return
+     * A {@code MappedByteArray} with the same bytes
+     */
+    MappedByteArray copyToTemporary(){
+        MappedByteArray copy = createTemporary(size);
+        for (int i = 0; i < segments.length; i++){
+            copy.segments[i].put(0, segments[i], 0, segments[i].capacity());
+        }
+        return copy;
+    }
+
+    /**
+     * Read a byte
+     * @param position
+     * The position in the array
+     * @return
+     * The byte, as a {@code int} between 0 and 255
+     */
+    int get(long position){
+        return segments[(int) (position >>> SEGMENT_SHIFT)].get((int) (position & SEGMENT_MASK)) & 0xFF;
+    }
+
+    /**
+     * Write a byte
+     * @param position
+     * The position in the array
+     * @param value
+     * The byte to write
+     */
+    void put(long position, int value){
+        segments[(int) (position >>> SEGMENT_SHIFT)].put((int) (position & SEGMENT_MASK), (byte) value);
+    }
+
+    /**
+     * Set every byte to zero
+     */
+    void clear(){
+        for (MappedByteBuffer segment : segments){
+            int capacity = segment.capacity();
+            int position = 0;
+            for (; position + Long.BYTES <= capacity; position += Long.BYTES){
+                segment.putLong(position, 0L);
+            }
+            for (; position < capacity; position++){
+                segment.put(position, (byte) 0);
+            }
+        }
+    }
+
+    /**
+     * Drop the mapping and delete the temporary file, the array can't be used anymore.
+     * The memory is unmapped by the garbage collector once the segments are unreachable
+     */
+    @Override
+    public void close(){
+        segments = null;
+        if (temporaryFile != null && temporaryFile.delete()) temporaryFile = null;
+    }
+
+    /**
+     * Write the modified pages back to the file
+     */
+    void force(){
+        for (MappedByteBuffer segment : segments){
+            segment.force();
+        }
+    }
+}
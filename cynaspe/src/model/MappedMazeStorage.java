@@ -0,0 +1,255 @@
+package model;
+
+import java.io.File;
+import java.io.IOException;
+
+import enums.WallDirection;
+
+/**
+ * Storage of a maze in a memory-mapped file, outside of the Java heap.
+ * <p>
+ * Each cell is a single byte of the file, the walls of the top and left border are
+ * packed as bits after the cells. The file is mapped in segments of 1 GiB, so the
+ * maze can be larger than the heap, the operating system page cache does the paging.
+ * The bits are stored as "wall removed", so a new file full of zeros is a maze with every wall.
+ * </p>
+ * <pre>
+ * bit 0     right wall removed
+ * bit 1     bottom wall removed
+ * </pre>
+ */
+public class MappedMazeStorage implements IMazeStorage {
+    /** Bit set when the right wall is removed */
+    private static final int RIGHT_OPEN = 1;
+    /** Bit set when the bottom wall is removed */
+    private static final int BOTTOM_OPEN = 1 << 1;
+
+    /**
+     * The number of rows stored.
+     */
+    private final int numRows;
+
+    /**
+     * The number of columns stored.
+     */
+    private final int numCols;
+
+    /**
+     * Position of the top border bits in the file.
+     */
+    private final long topBorderOffset;
+
+    /**
+     * Position of the left border bits in the file.
+     */
+    private final long leftBorderOffset;
+
+    /**
+     * The bytes of the file.
+     */
+    private final MappedByteArray bytes;
+
+    /**
+     * Construct a storage mapped on a file.
+     * If the file already has the size of the maze, its content is kept,
+     * otherwise it is cleared to a maze with every wall.
+     * @param file
+     * The file to map
+     * @param numRows
+     * The number of rows
+     * @param numCols
+     * The number of columns
+     */
+    public MappedMazeStorage(File file, int numRows, int numCols){
+        // A new file is full of zeros, so every wall is present
+        this(new MappedByteArray(file, getFileSize(numRows, numCols)), numRows, numCols);
+    }
+
+    /**
+     * Construct a storage on bytes already mapped
+     * @param bytes
+     * The bytes of the storage
+     * @param numRows
+     * The number of rows
+     * @param numCols
+     * The number of columns
+     */
+    private MappedMazeStorage(MappedByteArray bytes, int numRows, int numCols){
+        this.numRows = numRows;
+        this.numCols = numCols;
+        topBorderOffset = (long) numRows * numCols;
+        leftBorderOffset = topBorderOffset + (numCols + 7) / 8;
+        this.bytes = bytes;
+    }
+
+    /**
+     * Get the size of the file of a maze
+     * @param numRows
+     * The number of rows
+     * @param numCols
+     * The number of columns
+     * @return
+     * A {@code long} of the number of bytes, a byte per cell then the bits of the borders
+     */
+    private static long getFileSize(int numRows, int numCols){
+        if (numRows <= 0 || numCols <= 0) {
+            throw new IllegalArgumentException("Number of rows and columns must be positive");
+        }
+        if ((long) numRows * numCols > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Maze cannot have more than " + Integer.MAX_VALUE + " tiles");
+        }
+        return (long) numRows * numCols + (numCols + 7) / 8 + (numRows + 7) / 8;
+    }
+
+    /**
+     * Create a storage mapped on a temporary file, the file is deleted once mapped
+     * and its space is freed when the storage is dropped
+     * @param numRows
+     * The number of rows
+     * @param numCols
+     * The number of columns
+     * @return
+     * A {@code MappedMazeStorage} with every wall present
+     */
+    public static MappedMazeStorage createTemporary(int numRows, int numCols){
+        return new MappedMazeStorage(MappedByteArray.createTemporary(getFileSize(numRows, numCols)), numRows, numCols);
+    }
+
+    /**
+     * Write the modified pages back to the file
+     */
+    public void flush(){
+        bytes.force();
+    }
+
+    /**
+     * Read a byte of the file
+     * @param position
+     * The position in the file
+     * @return
+     * The byte, as a {@code int} between 0 and 255
+     */
+    private int getByte(long position){
+        return bytes.get(position);
+    }
+
+    /**
+     * Set or clear bits of a byte of the file
+     * @param position
+     * The position in the file
+     * @param bits
+     * The bits to change
+     * @param value
+     * {@code true} to set the bits, {@code false} to clear them
+     */
+    private void setBits(long position, int bits, boolean value){
+        int current = getByte(position);
+        bytes.put(position, value ? current | bits : current & ~bits);
+    }
+
+    /**
+     * Read a bit of a packed bit region of the file
+     * @param offset
+     * The position of the region
+     * @param index
+     * The index of the bit in the region
+     * @return
+     * {@code true} if the bit is set, {@code false} if not
+     */
+    private boolean getRegionBit(long offset, int index){
+        return (getByte(offset + (index >>> 3)) & (1 << (index & 7))) != 0;
+    }
+
+    @Override
+    public int getNumRows(){
+        return numRows;
+    }
+
+    @Override
+    public int getNumCols(){
+        return numCols;
+    }
+
+    @Override
+    public boolean hasRightWall(int cell){
+        return (getByte(cell) & RIGHT_OPEN) == 0;
+    }
+
+    @Override
+    public void setRightWall(int cell, boolean wall){
+        setBits(cell, RIGHT_OPEN, !wall);
+    }
+
+    @Override
+    public boolean hasBottomWall(int cell){
+        return (getByte(cell) & BOTTOM_OPEN) == 0;
+    }
+
+    @Override
+    public void setBottomWall(int cell, boolean wall){
+        setBits(cell, BOTTOM_OPEN, !wall);
+    }
+
+    @Override
+    public boolean hasTopBorderWall(int column){
+        return !getRegionBit(topBorderOffset, column);
+    }
+
+    @Override
+    public void setTopBorderWall(int column, boolean wall){
+        setBits(topBorderOffset + (column >>> 3), 1 << (column & 7), !wall);
+    }
+
+    @Override
+    public boolean hasLeftBorderWall(int row){
+        return !getRegionBit(leftBorderOffset, row);
+    }
+
+    @Override
+    public void setLeftBorderWall(int row, boolean wall){
+        setBits(leftBorderOffset + (row >>> 3), 1 << (row & 7), !wall);
+    }
+
+    @Override
+    public int getOpenDirections(int cell){
+        int column = cell % numCols;
+        int mask = 0;
+        if (cell >= numCols && !hasBottomWall(cell - numCols)) mask |= 1 << WallDirection.TOP.ordinal();
+        if (column != numCols - 1 && !hasRightWall(cell)) mask |= 1 << WallDirection.RIGHT.ordinal();
+        if (cell < (numRows - 1) * numCols && !hasBottomWall(cell)) mask |= 1 << WallDirection.BOTTOM.ordinal();
+        if (column != 0 && !hasRightWall(cell - 1)) mask |= 1 << WallDirection.LEFT.ordinal();
+        return mask;
+    }
+
+    @Override
+    public void setRowWalls(int row, long[] rightWalls, long[] bottomWalls){
+        // Each tile is a byte, the tiles are set one by one
+        int first = row * numCols;
+        for (int column = 0; column < numCols; column++){
+            setRightWall(first + column, (rightWalls[column >>> 6] & (1L << column)) != 0);
+            setBottomWall(first + column, (bottomWalls[column >>> 6] & (1L << column)) != 0);
+        }
+    }
+
+    @Override
+    public void reset(){
+        // A byte at zero has every wall
+        bytes.clear();
+    }
+
+    @Override
+    public IMazeStorage snapshot(){
+        // The file can't be shared, the snapshot is a copy in a temporary file
+        return new MappedMazeStorage(bytes.copyToTemporary(), numRows, numCols);
+    }
+
+    @Override
+    public boolean isSnapshotShared(){
+        return false;
+    }
+
+    @Override
+    public SolverState createSolverState(){
+        return new MappedSolverState(numRows * numCols);
+    }
+}
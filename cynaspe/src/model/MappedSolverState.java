@@ -0,0 +1,42 @@
+package model;
+
+/**
+ * State of a solver stored in a temporary memory-mapped file, outside of the Java heap.
+ * <p>
+ * Used for the mazes stored in a {@code MappedMazeStorage}, so the state of the solver
+ * does not depend on the heap either.
+ * </p>
+ */
+public class MappedSolverState extends SolverState {
+    /**
+     * The state byte of each cell.
+     */
+    private final MappedByteArray states;
+
+    /**
+     * Construct a state where no cell has been reached
+     * @param cellCount
+     * The number of cells of the maze
+     */
+    public MappedSolverState(int cellCount){
+        states = MappedByteArray.createTemporary(cellCount);
+    }
+
+    /**
+     * Drop the mapping of the states, the state can't be used anymore
+     */
+    @Override
+    public void close(){
+        states.close();
+    }
+
+    @Override
+    protected int getByte(int cell){
+        return states.get(cell);
+    }
+
+    @Override
+    protected void putByte(int cell, int value){
+        states.put(cell, value);
+    }
+}
@@ -0,0 +1,307 @@
+package model;
+
+import java.util.Arrays;
+
+import enums.WallDirection;
+
+/**
+ * Journal of the walls edited on a maze.
+ * <p>
+ * Each edit is a single {@code long} record made of the cell, the direction of the wall and its new value.
+ * The history keeps the edits that can be undone and redone, a new edit drops the edits undone.
+ * It is a ring of {@code MAX_HISTORY} edits at most, once it is full each new edit drops the oldest one,
+ * which can't be undone anymore.
+ * </p>
+ * <p>
+ * Every change applied to the maze (edit, undo or redo) is also appended to a log, the version of the maze
+ * is the number of changes applied, so a reader can ask which cells changed since the version it has seen.
+ * The version only increases. Clearing the journal for a maze reset counts as a change of every wall:
+ * the log starts again at the new version, and a reader with an older version must read the whole maze.
+ * The log keeps the last {@code MAX_CHANGES} changes at most, its older half is dropped when it is full,
+ * and a reader behind the changes kept must also read the whole maze.
+ * </p>
+ * <p>
+ * The history and the log are both bounded, so a long editing session uses a bounded memory.
+ * </p>
+ * <pre>
+ * bit 0       wall present after the change
+ * bit 1-2     direction of the wall
+ * bit 3-34    cell id
+ * </pre>
+ */
+public class MazeJournal {
+    /** Shift of the direction in a record */
+    private static final int DIRECTION_SHIFT = 1;
+    /** Shift of the cell in a record */
+    private static final int CELL_SHIFT = 3;
+    /** The largest number of changes kept in the log */
+    private static final int MAX_CHANGES = 1 << 16;
+    /** The largest number of edits kept in the history, a power of two */
+    private static final int MAX_HISTORY = 1 << 16;
+
+    /**
+     * Cached values of the wall directions, indexed by their ordinal.
+     */
+    private static final WallDirection[] DIRECTIONS = WallDirection.values();
+
+    /**
+     * Ring of the edits that can be undone, then the edits that can be redone, its length is a power of two.
+     */
+    private long[] history = new long[16];
+
+    /**
+     * The index in the ring of the oldest edit of the history.
+     */
+    private int historyStart = 0;
+
+    /**
+     * The number of edits in the history.
+     */
+    private int historySize = 0;
+
+    /**
+     * The number of edits of the history applied to the maze, the edits after are undone.
+     */
+    private int cursor = 0;
+
+    /**
+     * The changes applied to the maze since the oldest version, in order.
+     */
+    private long[] changes = new long[16];
+
+    /**
+     * The number of changes applied, that is the version of the maze.
+     */
+    private int version = 0;
+
+    /**
+     * The oldest version whose changes are in the log, the whole maze changed before it.
+     */
+    private int oldestVersion = 0;
+
+    /**
+     * Default constructor, the journal is empty.
+     */
+    public MazeJournal() {
+
+    }
+
+    /**
+     * Encode a change of a wall
+     * @param cell
+     * The cell id
+     * @param direction
+     * The direction of the wall in the cell
+     * @param wall
+     * {@code true} if the wall is present after the change, {@code false} if not
+     * @return
+     * A {@code long} record of the change
+     */
+    public static long encode(int cell, WallDirection direction, boolean wall){
+        return ((long) cell << CELL_SHIFT) | (direction.ordinal() << DIRECTION_SHIFT) | (wall ? 1 : 0);
+    }
+
+    /**
+     * Get the cell of a record
+     * @param record
+     * The record of a change
+     * @return
+     * A {@code int} of the cell id
+     */
+    public static int getCell(long record){
+        return (int) (record >>> CELL_SHIFT);
+    }
+
+    /**
+     * Get the direction of the wall of a record
+     * @param record
+     * The record of a change
+     * @return
+     * The {@code WallDirection} of the wall in the cell
+     */
+    public static WallDirection getDirection(long record){
+        return DIRECTIONS[(int) (record >>> DIRECTION_SHIFT) & 3];
+    }
+
+    /**
+     * Get the value of the wall after the change of a record
+     * @param record
+     * The record of a change
+     * @return
+     * {@code true} if the wall is present, {@code false} if not
+     */
+    public static boolean isWall(long record){
+        return (record & 1) != 0;
+    }
+
+    /**
+     * Get the record that cancels the change of a record
+     * @param record
+     * The record of a change
+     * @return
+     * A {@code long} record of the same wall with the opposite value
+     */
+    public static long invert(long record){
+        return record ^ 1;
+    }
+
+    /**
+     * Append a record to an array, growing it if needed
+     * @param records
+     * The array of records
+     * @param size
+     * The number of records in the array
+     * @param record
+     * The record to append
+     * @return
+     * The array holding the records, {@code records} or a larger copy
+     */
+    private static long[] append(long[] records, int size, long record){
+        if (size == records.length) records = Arrays.copyOf(records, size * 2);
+        records[size] = record;
+        return records;
+    }
+
+    /**
+     * Record an edit applied to the maze, the edits undone can't be redone anymore
+     * @param record
+     * The record of the edit
+     */
+    public void record(long record){
+        if (cursor == history.length) {
+            if (history.length < MAX_HISTORY) {
+                // Grow the ring, the oldest edit goes back to the index 0
+                long[] grown = new long[history.length * 2];
+                for (int i = 0; i < cursor; i++){
+                    grown[i] = historyAt(i);
+                }
+                history = grown;
+                historyStart = 0;
+            } else {
+                // Drop the oldest edit, it can't be undone anymore
+                historyStart = (historyStart + 1) & (history.length - 1);
+                cursor--;
+            }
+        }
+        history[(historyStart + cursor) & (history.length - 1)] = record;
+        cursor++;
+        historySize = cursor;
+        appendChange(record);
+    }
+
+    /**
+     * Get an edit of the history
+     * @param index
+     * The index of the edit, from the oldest one
+     * @return
+     * A {@code long} record of the edit
+     */
+    private long historyAt(int index){
+        return history[(historyStart + index) & (history.length - 1)];
+    }
+
+    /**
+     * Append a change applied to the maze to the log, increasing the version
+     * @param record
+     * The record of the change
+     */
+    private void appendChange(long record){
+        if (version - oldestVersion == MAX_CHANGES) {
+            // Drop the older half of the log, the readers behind it read the whole maze
+            int dropped = MAX_CHANGES / 2;
+            System.arraycopy(changes, dropped, changes, 0, MAX_CHANGES - dropped);
+            oldestVersion += dropped;
+        }
+        changes = append(changes, version - oldestVersion, record);
+        version++;
+    }
+
+    /**
+     * Empty the journal, for a maze reset. The reset is a change of every wall, the version increases
+     * and the readers with an older version must read the whole maze again
+     */
+    public void clear(){
+        historyStart = 0;
+        historySize = 0;
+        cursor = 0;
+        version++;
+        oldestVersion = version;
+    }
+
+    /**
+     * Check if there's an edit to undo
+     * @return
+     * {@code true} if an edit can be undone, {@code false} if not
+     */
+    public boolean canUndo(){
+        return cursor > 0;
+    }
+
+    /**
+     * Check if there's an edit to redo
+     * @return
+     * {@code true} if an edit can be redone, {@code false} if not
+     */
+    public boolean canRedo(){
+        return cursor < historySize;
+    }
+
+    /**
+     * Move back in the history, the change returned must be applied to the maze
+     * @return
+     * A {@code long} record of the change cancelling the last edit
+     */
+    public long undo(){
+        if (!canUndo()) throw new IllegalStateException("There's no edit to undo");
+        long record = invert(historyAt(--cursor));
+        appendChange(record);
+        return record;
+    }
+
+    /**
+     * Move forward in the history, the change returned must be applied to the maze
+     * @return
+     * A {@code long} record of the edit undone last
+     */
+    public long redo(){
+        if (!canRedo()) throw new IllegalStateException("There's no edit to redo");
+        long record = historyAt(cursor++);
+        appendChange(record);
+        return record;
+    }
+
+    /**
+     * Get the version of the maze, increased by every change applied
+     * @return
+     * A {@code int} of the number of changes applied
+     */
+    public int getVersion(){
+        return version;
+    }
+
+    /**
+     * Get the oldest version whose changes are known, a reader with an older version must read the whole maze
+     * @return
+     * A {@code int} of the oldest version accepted by {@code getChangesSince}
+     */
+    public int getOldestVersion(){
+        return oldestVersion;
+    }
+
+    /**
+     * Get the changes applied since a version
+     * @param sinceVersion
+     * The version already seen by the reader, not older than {@code getOldestVersion}
+     * @return
+     * A {@code long[]} of the records of the changes, in the order they were applied
+     */
+    public long[] getChangesSince(int sinceVersion){
+        if (sinceVersion < 0 || sinceVersion > version) {
+            throw new IllegalArgumentException("Version must be between 0 and " + version);
+        }
+        if (sinceVersion < oldestVersion) {
+            throw new IllegalStateException("Version " + sinceVersion + " is older than the journal, the whole maze must be read again");
+        }
+        return Arrays.copyOfRange(changes, sinceVersion - oldestVersion, version - oldestVersion);
+    }
+}
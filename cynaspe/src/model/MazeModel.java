@@ -1,103 +1,372 @@
 package model;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import enums.TileStatus;
 import enums.WallDirection;
-import utils.Helpers;
 
 /**
  * Represents a maze composed of tiles arranged in rows and columns.
  * <p>
- * Contains the dimensions of the maze and the 2D array of {@code TileModel} instances
- * that make up the maze.
+ * Contains the dimensions of the maze and the data of every tile, kept in a {@code IMazeStorage}
+ * indexed by the cell id of the tile ({@code row * numCols + column}).
+ * Each wall between two tiles is a single shared bit of the storage.
+ * {@code TileModel} instances are only views on a cell, created when asked with {@code getTile}.
+ * </p>
+ * <p>
+ * The maze only holds the walls, the state of a solve is kept in a {@code SolverState} owned by the solver.
+ * Solvers only read the maze, so several solvers can run on the same maze at the same time,
+ * from different threads, as long as the walls are not edited meanwhile.
  * </p>
  */
 public class MazeModel {
     /**
      * The number of rows in the maze.
      */
-    public int numRows;
+    public final int numRows;
 
     /**
      * The number of columns in the maze.
      */
-    public int numCols;
+    public final int numCols;
 
     /**
-     * 2D array of tiles representing the maze grid.
+     * The storage of the walls of the tiles.
      */
-    public TileModel[][] tiles;
+    private final IMazeStorage storage;
 
     /**
-     * Construct a grid with the size given
+     * The journal of the walls edited with {@code addWall} and {@code removeWall}.
+     */
+    private final MazeJournal journal = new MazeJournal();
+
+    /**
+     * Create a grid with the size given, stored in chunks on the heap, or in a temporary mapped file
+     * when its walls would take more than a quarter of the heap
      * @param numRows
      * The number of row for the grid
      * @param numCols
      * The number of column for the grid
+     * @return
+     * A {@code MazeModel} with every wall
      */
-    public MazeModel(int numRows, int numCols){
-        if (numRows <= 0 || numCols <= 0) {
-            throw new IllegalArgumentException("Number of rows and columns must be positive");
+    public static MazeModel create(int numRows, int numCols){
+        return create(numRows, numCols, 0);
+    }
+
+    /**
+     * Create a grid for an algorithm, stored in chunks on the heap, or in a temporary mapped file
+     * when its walls and the structures of the algorithm would take more than a quarter of the heap
+     * @param numRows
+     * The number of row for the grid
+     * @param numCols
+     * The number of column for the grid
+     * @param heapBitsPerCell
+     * The bits the algorithm allocates on the heap per tile
+     * @return
+     * A {@code MazeModel} with every wall
+     * @throws IllegalArgumentException
+     * if the structures of the algorithm alone can't fit in the heap
+     */
+    public static MazeModel create(int numRows, int numCols, int heapBitsPerCell){
+        long cellCount = (long) numRows * numCols;
+        checkHeapFootprint(cellCount, heapBitsPerCell);
+        // The chunks take 2 bits per tile
+        long heapBytes = cellCount * (2 + heapBitsPerCell) / 8;
+        if (heapBytes > Runtime.getRuntime().maxMemory() / 4) {
+            return new MazeModel(MappedMazeStorage.createTemporary(numRows, numCols));
+        }
+        return new MazeModel(numRows, numCols);
+    }
+
+    /**
+     * Check that the structures of an algorithm fit in half of the heap, so a maze too large
+     * fails at once with a clear message instead of running out of memory
+     * @param cellCount
+     * The number of tiles
+     * @param heapBitsPerCell
+     * The bits the algorithm allocates on the heap per tile
+     * @throws IllegalArgumentException
+     * if the structures would take more than half of the heap
+     */
+    private static void checkHeapFootprint(long cellCount, int heapBitsPerCell){
+        long heapBytes = cellCount * heapBitsPerCell / 8;
+        long availableBytes = Runtime.getRuntime().maxMemory() / 2;
+        if (heapBytes > availableBytes) {
+            throw new IllegalArgumentException(String.format("The algorithm needs %d MiB of heap for %d tiles, only %d MiB are available",
+                heapBytes >> 20, cellCount, availableBytes >> 20));
         }
-        this.numRows = numRows;
-        this.numCols = numCols;
-        tiles = ConstructGrid();
     }
 
+    /**
+     * Check that the structures of an algorithm run on the maze fit in half of the heap
+     * @param heapBitsPerCell
+     * The bits the algorithm allocates on the heap per tile
+     * @throws IllegalArgumentException
+     * if the structures would take more than half of the heap
+     */
+    public void checkHeapFootprint(int heapBitsPerCell){
+        checkHeapFootprint(getCellCount(), heapBitsPerCell);
+    }
+
+    /**
+     * Construct a grid with the size given, stored in chunks on the heap
+     * @param numRows
+     * The number of row for the grid
+     * @param numCols
+     * The number of column for the grid
+     */
+    public MazeModel(int numRows, int numCols){
+        this(new ChunkedMazeStorage(numRows, numCols));
+    }
 
     /**
-     * Construct a maze with a 2d array of TileModel
-     * @param tiles
-     * The 2D array of tile we want to create the maze from
+     * Construct a grid on a storage, the size of the grid is the size of the storage
+     * @param storage
+     * The storage of the walls of the tiles,
+     * for example a {@code MappedMazeStorage} for mazes larger than the heap
      */
-    public MazeModel(TileModel[][] tiles){
-        if (tiles == null || tiles.length == 0) {
-            throw new IllegalArgumentException("Tiles cannot be null or empty");
+    public MazeModel(IMazeStorage storage){
+        if (storage == null) {
+            throw new IllegalArgumentException("Storage cannot be null");
         }
-        int cols = tiles[0].length;
-        for (TileModel[] row : tiles) {
-            if (row == null || row.length != cols) {
-                throw new IllegalArgumentException("All rows must be non-null and have the same number of columns");
-            }
+        this.storage = storage;
+        this.numRows = storage.getNumRows();
+        this.numCols = storage.getNumCols();
+    }
+
+    /**
+     * Get the storage of the maze
+     * @return
+     * The {@code IMazeStorage} holding the walls of the tiles
+     */
+    public IMazeStorage getStorage(){
+        return storage;
+    }
+
+    /**
+     * Get the journal of the walls edited on the maze
+     * @return
+     * The {@code MazeJournal} of the edits
+     */
+    public MazeJournal getJournal(){
+        return journal;
+    }
+
+    /**
+     * Take a snapshot of the maze, for a solver or a writer reading the maze while it is edited.
+     * With the default storage the chunks are shared, only the chunks edited afterwards are copied
+     * @return
+     * A {@code MazeModel} with the walls of the maze at the time of the call
+     */
+    public MazeModel snapshot(){
+        return new MazeModel(storage.snapshot());
+    }
+
+    /**
+     * Get the maze to read while it may be edited: a snapshot if the storage shares its walls with it,
+     * else the maze itself, to read in place while no wall is edited
+     * @return
+     * A {@code MazeModel} that is a snapshot of the maze or the maze itself
+     */
+    public MazeModel snapshotIfShared(){
+        return storage.isSnapshotShared() ? snapshot() : this;
+    }
+
+    /**
+     * Put back every wall and empty the journal, in place, so the maze can be generated again
+     * without allocating a new one. The snapshots taken before are not changed
+     */
+    public void reset(){
+        storage.reset();
+        journal.clear();
+    }
+
+    /**
+     * Create an empty state for a solver of the maze, in the same kind of memory as the maze.
+     * The solver writes in its state only, so the maze is never modified while solving
+     * @return
+     * A {@code SolverState} where no tile has been reached
+     */
+    public SolverState createSolverState(){
+        return storage.createSolverState();
+    }
+
+    //#region Cells
+
+    /**
+     * Get the number of tiles in the maze
+     * @return
+     * A {@code int} that is {@code numRows * numCols}
+     */
+    public int getCellCount(){
+        return numRows * numCols;
+    }
+
+    /**
+     * Get the cell id of a tile
+     * @param row
+     * The row of the tile
+     * @param column
+     * The column of the tile
+     * @return
+     * A {@code int} that is {@code row * numCols + column}
+     */
+    public int getCellId(int row, int column){
+        return row * numCols + column;
+    }
+
+    /**
+     * Get the row of a cell
+     * @param cell
+     * The cell id
+     * @return
+     * A {@code int} of the row of the cell
+     */
+    public int getRow(int cell){
+        return cell / numCols;
+    }
+
+    /**
+     * Get the column of a cell
+     * @param cell
+     * The cell id
+     * @return
+     * A {@code int} of the column of the cell
+     */
+    public int getColumn(int cell){
+        return cell % numCols;
+    }
+
+    /**
+     * Get the cell id of the start tile
+     * @return
+     * A {@code int} of the start cell
+     */
+    public int getStartCell(){
+        return 0;
+    }
+
+    /**
+     * Get the cell id of the end tile
+     * @return
+     * A {@code int} of the end cell
+     */
+    public int getEndCell(){
+        return getCellCount() - 1;
+    }
+
+    /**
+     * Get the neighbor of a cell, with the direction choose
+     * @param cell
+     * The cell which we want to get the neighbor
+     * @param direction
+     * The direction to get the neighbor
+     * @return
+     * A {@code int} of the neighbor cell id, {@code -1} if it's outside the maze
+     */
+    public int getNeighborCell(int cell, WallDirection direction){
+        switch (direction) {
+            case TOP:    return cell >= numCols ? cell - numCols : -1;
+            case BOTTOM: return cell < getCellCount() - numCols ? cell + numCols : -1;
+            case LEFT:   return cell % numCols != 0 ? cell - 1 : -1;
+            case RIGHT:  return (cell + 1) % numCols != 0 ? cell + 1 : -1;
+            default: throw new IllegalArgumentException("Unknown direction: " + direction);
         }
-        this.tiles = tiles;
-        this.numRows = tiles.length;
-        this.numCols = (tiles.length > 0) ? tiles[0].length : 0; // Check if there are row before getting the number of columns
     }
 
     /**
-     * Construct the grid by putting a TileModel in each row and column
+     * Check if a cell has a wall in the given direction
+     * @param cell
+     * The cell id
+     * @param wallDirection
+     * The direction of the wall
      * @return
-     * A {@code TileModel} 2D array full of {@code TileModel}
+     * {@code true} if there's a wall, {@code false} if not
      */
-    private TileModel[][] ConstructGrid(){
-        TileModel[][] tiles = new TileModel[numRows][];
-        // For each row
-        for (int row = 0; row < numRows; row++){
-            // Assign columns to the row
-            tiles[row] = new TileModel[numCols];
-            // For each column
-            for (int column = 0; column < numCols; column++){
-                // Create the tile
-                tiles[row][column] = new TileModel(row, column);
-            }
+    public boolean hasWall(int cell, WallDirection wallDirection){
+        // The walls between two tiles are shared, so a TOP or LEFT wall
+        // is read from the BOTTOM or RIGHT wall of the neighbor
+        switch (wallDirection) {
+            case TOP:    return cell < numCols ? storage.hasTopBorderWall(cell) : storage.hasBottomWall(cell - numCols);
+            case BOTTOM: return storage.hasBottomWall(cell);
+            case LEFT:   return cell % numCols == 0 ? storage.hasLeftBorderWall(cell / numCols) : storage.hasRightWall(cell - 1);
+            case RIGHT:  return storage.hasRightWall(cell);
+            default: throw new IllegalArgumentException("Unknown direction: " + wallDirection);
         }
-        return tiles;
     }
 
     /**
-     * Reset all the tiles to unvisited
+     * Put or remove the wall of a cell, the neighbor sharing the wall is updated too
+     * @param cell
+     * The cell id
+     * @param wallDirection
+     * The direction of the wall
+     * @param wall
+     * {@code true} to put the wall, {@code false} to remove it
      */
-    public void resetTileStatus(){
-        for (TileModel[] row : tiles){
-            for (TileModel tile: row){
-                tile.status = TileStatus.UNVISITED;
-            }
+    public void setWall(int cell, WallDirection wallDirection, boolean wall){
+        switch (wallDirection) {
+            case TOP:
+                if (cell < numCols) storage.setTopBorderWall(cell, wall);
+                else storage.setBottomWall(cell - numCols, wall);
+                break;
+            case BOTTOM: storage.setBottomWall(cell, wall); break;
+            case LEFT:
+                if (cell % numCols == 0) storage.setLeftBorderWall(cell / numCols, wall);
+                else storage.setRightWall(cell - 1, wall);
+                break;
+            case RIGHT: storage.setRightWall(cell, wall); break;
         }
     }
 
+    /**
+     * Get the directions where a cell can go, that is the directions with a neighbor
+     * inside the maze and no wall between them
+     * @param cell
+     * The cell id
+     * @return
+     * A {@code int} where the bit {@code 1 << direction.ordinal()} is set for each open direction
+     */
+    public int getOpenDirections(int cell){
+        return storage.getOpenDirections(cell);
+    }
+
+    /**
+     * Visit the accessible neighbors of a cell, without allocating
+     * The order is top, bottom, left and right, like {@code getAccessibleNeighbors}
+     * @param cell
+     * The cell id
+     * @param visitor
+     * The visitor called for each accessible neighbor
+     */
+    public void forEachAccessibleNeighbor(int cell, INeighborVisitor visitor){
+        int open = getOpenDirections(cell);
+        if ((open & (1 << WallDirection.TOP.ordinal())) != 0) visitor.visit(cell - numCols, WallDirection.TOP);
+        if ((open & (1 << WallDirection.BOTTOM.ordinal())) != 0) visitor.visit(cell + numCols, WallDirection.BOTTOM);
+        if ((open & (1 << WallDirection.LEFT.ordinal())) != 0) visitor.visit(cell - 1, WallDirection.LEFT);
+        if ((open & (1 << WallDirection.RIGHT.ordinal())) != 0) visitor.visit(cell + 1, WallDirection.RIGHT);
+    }
+
+    /**
+     * Remove the wall between two adjacent cells
+     * @param cell1
+     * The first cell
+     * @param cell2
+     * The second cell, next to the first one
+     */
+    public void removeWallBetween(int cell1, int cell2){
+        int low = Math.min(cell1, cell2);
+        int high = Math.max(cell1, cell2);
+        // The wall is stored on the tile at the left or on the top
+        if (high - low == numCols) storage.setBottomWall(low, false);
+        else storage.setRightWall(low, false);
+    }
+
+    //#endregion
+
     /**
      * Get the edges of the grid
      * @return
@@ -107,8 +376,9 @@ public class MazeModel {
         List<EdgeModel> edges = new ArrayList<>();
         for (int row = 0; row < numRows; row++){
             for (int column = 0; column < numCols; column++){
-                if (row > 0) edges.add(new EdgeModel(tiles[row][column], tiles[row -1][column]));
-                if (column > 0) edges.add(new EdgeModel(tiles[row][column], tiles[row][column - 1]));
+                int cell = getCellId(row, column);
+                if (row > 0) edges.add(new EdgeModel(cell, cell - numCols));
+                if (column > 0) edges.add(new EdgeModel(cell, cell - 1));
             }
         }
         return edges;
@@ -128,7 +398,7 @@ public class MazeModel {
         if (!isInsideMaze(row, column)){
             throw new IndexOutOfBoundsException("Invalid tile position: (" + row + ", " + column + ")");
         }
-        return tiles[row][column];
+        return new TileModel(this, row, column);
     }
 
     /**
@@ -159,7 +429,7 @@ public class MazeModel {
         // Check if the new position is inside the maze
         if (isInsideMaze(newRow, newCol)) {
             // Return the neighbor tile
-            return tiles[newRow][newCol];
+            return new TileModel(this, newRow, newCol);
         }
         // Otherwise, return null
         return null;
@@ -181,6 +451,70 @@ public class MazeModel {
         return false;
     }
 
+    /**
+     * Check if a tile has a wall in the given direction
+     * @param row
+     * The row of the tile
+     * @param column
+     * The column of the tile
+     * @param wallDirection
+     * The direction of the wall
+     * @return
+     * {@code true} if there's a wall, {@code false} if not
+     */
+    public boolean hasWall(int row, int column, WallDirection wallDirection){
+        return hasWall(getCellId(row, column), wallDirection);
+    }
+
+    /**
+     * Put or remove the wall of a tile, the neighbor sharing the wall is updated too
+     * @param row
+     * The row of the tile
+     * @param column
+     * The column of the tile
+     * @param wallDirection
+     * The direction of the wall
+     * @param wall
+     * {@code true} to put the wall, {@code false} to remove it
+     */
+    public void setWall(int row, int column, WallDirection wallDirection, boolean wall){
+        setWall(getCellId(row, column), wallDirection, wall);
+    }
+
+    /**
+     * Get the walls of a tile as a mask
+     * @param row
+     * The row of the tile
+     * @param column
+     * The column of the tile
+     * @return
+     * A {@code int} where the bit {@code 1 << direction.ordinal()} is set for each wall present
+     */
+    public int getWallMask(int row, int column){
+        int cell = getCellId(row, column);
+        int mask = 0;
+        for (WallDirection direction : WallDirection.values()){
+            if (hasWall(cell, direction)) mask |= 1 << direction.ordinal();
+        }
+        return mask;
+    }
+
+    /**
+     * Put the walls of a tile from a mask
+     * @param row
+     * The row of the tile
+     * @param column
+     * The column of the tile
+     * @param mask
+     * A {@code int} where the bit {@code 1 << direction.ordinal()} is set for each wall present
+     */
+    public void setWallMask(int row, int column, int mask){
+        int cell = getCellId(row, column);
+        for (WallDirection direction : WallDirection.values()){
+            setWall(cell, direction, (mask & (1 << direction.ordinal())) != 0);
+        }
+    }
+
     /**
      * Add a wall to a tile
      * @param tile
@@ -189,13 +523,8 @@ public class MazeModel {
      * The direction of the wall we want to add
      */
     public void addWall(TileModel tile, WallDirection wallDirection){
-        tile.addWall(wallDirection);
-        // Add the wall to the neighbor too
-        TileModel neighbor = getNeighbor(tile, wallDirection);
-        if (neighbor != null){
-            WallDirection oppositeWallDirection = Helpers.getOppositeDirection(wallDirection);
-            neighbor.addWall(oppositeWallDirection);
-        }
+        // The wall is shared, so the neighbor get it too
+        editWall(tile.getCell(), wallDirection, true);
     }
 
     /**
@@ -206,13 +535,89 @@ public class MazeModel {
      * The direction of the wall we want to remove
      */
     public void removeWall(TileModel tile, WallDirection wallDirection){
-        tile.removeWall(wallDirection);
-        // Remove the wall of the neighbor too
-        TileModel neighbor = getNeighbor(tile, wallDirection);
-        if (neighbor != null){
-            WallDirection oppositeWallDirection = Helpers.getOppositeDirection(wallDirection);
-            neighbor.removeWall(oppositeWallDirection);
+        // The wall is shared, so the neighbor lose it too
+        editWall(tile.getCell(), wallDirection, false);
+    }
+
+    /**
+     * Put or remove a wall and record the edit in the journal, nothing is recorded if the wall doesn't change
+     * @param cell
+     * The cell id
+     * @param wallDirection
+     * The direction of the wall in the cell
+     * @param wall
+     * {@code true} to put the wall, {@code false} to remove it
+     */
+    private void editWall(int cell, WallDirection wallDirection, boolean wall){
+        if (hasWall(cell, wallDirection) == wall) return;
+        setWall(cell, wallDirection, wall);
+        journal.record(MazeJournal.encode(cell, wallDirection, wall));
+    }
+
+    /**
+     * Apply a change of the journal to the walls
+     * @param record
+     * The record of the change
+     */
+    private void applyChange(long record){
+        setWall(MazeJournal.getCell(record), MazeJournal.getDirection(record), MazeJournal.isWall(record));
+    }
+
+    /**
+     * Undo the last wall edited
+     * @return
+     * {@code true} if an edit has been undone, {@code false} if there was none
+     */
+    public boolean undo(){
+        if (!journal.canUndo()) return false;
+        applyChange(journal.undo());
+        return true;
+    }
+
+    /**
+     * Redo the last wall edit undone
+     * @return
+     * {@code true} if an edit has been redone, {@code false} if there was none
+     */
+    public boolean redo(){
+        if (!journal.canRedo()) return false;
+        applyChange(journal.redo());
+        return true;
+    }
+
+    /**
+     * Get the cells whose walls changed since a version of the journal,
+     * a wall between two tiles changes both tiles
+     * @param sinceVersion
+     * The version already seen, from {@code getJournal().getVersion()}
+     * @return
+     * A sorted {@code int[]} of the cell ids, without duplicates, every cell if the version is older than the journal
+     */
+    public int[] getChangedCells(int sinceVersion){
+        if (sinceVersion < journal.getOldestVersion()) {
+            // The maze has been reset since, every wall may have changed
+            int[] cells = new int[getCellCount()];
+            for (int cell = 0; cell < cells.length; cell++){
+                cells[cell] = cell;
+            }
+            return cells;
+        }
+        long[] changes = journal.getChangesSince(sinceVersion);
+        int[] cells = new int[changes.length * 2];
+        int count = 0;
+        for (long record : changes){
+            int cell = MazeJournal.getCell(record);
+            cells[count++] = cell;
+            int neighbor = getNeighborCell(cell, MazeJournal.getDirection(record));
+            if (neighbor != -1) cells[count++] = neighbor;
+        }
+        Arrays.sort(cells, 0, count);
+        // Remove the duplicates, now next to each other
+        int distinct = 0;
+        for (int i = 0; i < count; i++){
+            if (distinct == 0 || cells[i] != cells[distinct - 1]) cells[distinct++] = cells[i];
         }
+        return Arrays.copyOf(cells, distinct);
     }
 
     /**
@@ -224,34 +629,10 @@ public class MazeModel {
      */
     public List<TileModel> getAccessibleNeighbors(TileModel tile) {
         List<TileModel> neighbors = new ArrayList<>();
-        // Get the position of the argument tile
-        int r = tile.row;
-        int c = tile.column;
-
-        // Check top
-        if (r > 0) { // Check if it's not the top row
-            TileModel up = tiles[r - 1][c];
-            if (!tile.hasWallWith(up)) neighbors.add(up); // If there isn't a wall at the top, the neighbor is accessible
-        }
-
-        // Check bottom
-        if (r < numRows - 1) { // Check if it's not the bottom row
-            TileModel down = tiles[r + 1][c];
-            if (!tile.hasWallWith(down)) neighbors.add(down); // If there isn't a wall at the bottom, the neighbor is accessible
-        }
-
-        // Check left
-        if (c > 0) { // Check if it's not the left column
-            TileModel left = tiles[r][c - 1];
-            if (!tile.hasWallWith(left)) neighbors.add(left); // If there isn't a wall at the left, the neighbor is accessible
-        }
-
-        // Check right
-        if (c < numCols - 1) { // Check if it's not the right column
-            TileModel right = tiles[r][c + 1];
-            if (!tile.hasWallWith(right)) neighbors.add(right); // If there isn't a wall at the right, the neighbor is accessible
-        }
-
+        // Check top, bottom, left and right
+        forEachAccessibleNeighbor(getCellId(tile.row, tile.column), (neighbor, direction) ->
+            neighbors.add(new TileModel(this, getRow(neighbor), getColumn(neighbor)))
+        );
         return neighbors;
     }
 
@@ -261,10 +642,7 @@ public class MazeModel {
      * A {@code TileModel} that represent the start tile
      */
     public TileModel getStartTile(){
-        if (numRows == 0 || numCols == 0) {
-            throw new IllegalStateException("Maze has no tiles");
-        }
-        return tiles[0][0];
+        return new TileModel(this, 0, 0);
     }
 
     /**
@@ -273,16 +651,22 @@ public class MazeModel {
      * A {@code TileModel} that represent the end tile
      */
     public TileModel getEndTile(){
-        if (numRows == 0 || numCols == 0) {
-            throw new IllegalStateException("Maze has no tiles");
-        }
-        return tiles[numRows - 1][numCols - 1];
+        return new TileModel(this, numRows - 1, numCols - 1);
     }
 
     /**
-     * Render a maze in the console
+     * Render a maze in the console, without the state of a solver
      */
     public void renderMazeConsole(){
+        renderMazeConsole(null);
+    }
+
+    /**
+     * Render a maze in the console with the tiles visited by a solver
+     * @param solverState
+     * The state of the solver to show, {@code null} to show the walls only
+     */
+    public void renderMazeConsole(SolverState solverState){
         for (int row = 0; row < numRows; row++) {
             /// Print each wall direction
             /// Example of a tile with all walls
@@ -292,20 +676,19 @@ public class MazeModel {
 
             // Print top wall for each tile in the row
             for (int col = 0; col < numCols; col++) {
-                TileModel tile = getTile(row, col);
                 System.out.print("+");
-                System.out.print(tile.isWallPresent(WallDirection.TOP) ? "---" : "   ");
+                System.out.print(hasWall(row, col, WallDirection.TOP) ? "---" : "   ");
             }
             System.out.println("+"); // Print the last corner and jump to the next line
 
             // Print left wall and the content of tile
             for (int col = 0; col < numCols; col++) {
-                TileModel tile = getTile(row, col);
-                System.out.print(tile.isWallPresent(WallDirection.LEFT) ? "|" : " ");
-                if (tile.status == TileStatus.PATH) {
+                TileStatus tileStatus = solverState == null ? TileStatus.UNVISITED : solverState.getStatus(getCellId(row, col));
+                System.out.print(hasWall(row, col, WallDirection.LEFT) ? "|" : " ");
+                if (tileStatus == TileStatus.PATH) {
                     System.out.print(" # ");
-                } 
-                else if (tile.status == TileStatus.VISITED){
+                }
+                else if (tileStatus == TileStatus.VISITED){
                     System.out.print(" o ");
                 }
                 else {
@@ -313,18 +696,16 @@ public class MazeModel {
                 }
             }
             // Right wall of the last tile
-            TileModel lastTile = getTile(row, numCols - 1);
-            System.out.println(lastTile.isWallPresent(WallDirection.RIGHT) ? "|" : " ");
+            System.out.println(hasWall(row, numCols - 1, WallDirection.RIGHT) ? "|" : " ");
 
             // Print bottom walls at the end
             if (row == numRows - 1) {
                 for (int col = 0; col < numCols; col++) {
-                    TileModel tile = getTile(row, col);
                     System.out.print("+");
-                    System.out.print(tile.isWallPresent(WallDirection.BOTTOM) ? "---" : "   ");
+                    System.out.print(hasWall(row, col, WallDirection.BOTTOM) ? "---" : "   ");
                 }
                 System.out.println("+");
             }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,411 @@
+package model;
+
+import java.util.Arrays;
+
+import enums.WallDirection;
+
+/**
+ * Storage of a maze with the tiles in Morton order (Z-order) on the heap.
+ * <p>
+ * The position of a tile is made by interleaving the bits of its row and its column,
+ * so the tiles close in the grid are close in memory in both directions, where the
+ * row-major order puts the tile below a tile a whole row away. The frontier of a BFS
+ * or a Dijkstra grows as a diamond around the start tile and touches fewer cache lines.
+ * </p>
+ * <p>
+ * The rows and columns are rounded up to a power of two, the lowest bits of both are interleaved
+ * and the highest bits of the larger one are put on top, so a long maze isn't padded to a square
+ * and the storage is at most 4 times the number of tiles. The states of the solvers are kept
+ * in the same order.
+ * </p>
+ * <p>
+ * The position of a cell is computed once per access, the positions of its neighbors are then found
+ * on the Morton position itself: the bits of the row (or of the column) are taken with their mask,
+ * and one is added or subtracted on these bits only, the carry going through the bits of the other side.
+ * </p>
+ */
+public class MortonMazeStorage implements IMazeStorage {
+    /**
+     * The number of rows stored.
+     */
+    private final int numRows;
+
+    /**
+     * The number of columns stored.
+     */
+    private final int numCols;
+
+    /**
+     * The part of the Morton position given by each row.
+     */
+    private final long[] rowCodes;
+
+    /**
+     * The part of the Morton position given by each column.
+     */
+    private final long[] columnCodes;
+
+    /**
+     * The bits of a Morton position given by the row.
+     */
+    private final long rowMask;
+
+    /**
+     * The bits of a Morton position given by the column.
+     */
+    private final long columnMask;
+
+    /**
+     * The Morton code of the row 1, the lowest bit of the row mask.
+     */
+    private final long rowOne;
+
+    /**
+     * The Morton code of the column 1, the lowest bit of the column mask.
+     */
+    private final long columnOne;
+
+    /**
+     * Bit grid of the right walls in Morton order, set when the wall is present.
+     */
+    private final long[] rightWalls;
+
+    /**
+     * Bit grid of the bottom walls in Morton order, set when the wall is present.
+     */
+    private final long[] bottomWalls;
+
+    /**
+     * Top walls of the first row, one bit per column.
+     */
+    private final long[] topBorder;
+
+    /**
+     * Left walls of the first column, one bit per row.
+     */
+    private final long[] leftBorder;
+
+    /**
+     * Construct a storage with every wall present
+     * @param numRows
+     * The number of rows
+     * @param numCols
+     * The number of columns
+     */
+    public MortonMazeStorage(int numRows, int numCols){
+        if (numRows <= 0 || numCols <= 0) {
+            throw new IllegalArgumentException("Number of rows and columns must be positive");
+        }
+        if ((long) numRows * numCols > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Maze cannot have more than " + Integer.MAX_VALUE + " tiles");
+        }
+        this.numRows = numRows;
+        this.numCols = numCols;
+        int rowBits = bitsFor(numRows);
+        int colBits = bitsFor(numCols);
+        int interleavedBits = Math.min(rowBits, colBits);
+        // The bits of the row and of the column don't overlap, so a position is the OR of both codes
+        rowCodes = new long[numRows];
+        for (int row = 0; row < numRows; row++){
+            rowCodes[row] = getMortonCode(row, interleavedBits, 1);
+        }
+        columnCodes = new long[numCols];
+        for (int column = 0; column < numCols; column++){
+            columnCodes[column] = getMortonCode(column, interleavedBits, 0);
+        }
+        rowMask = getMortonCode((int) ((1L << rowBits) - 1), interleavedBits, 1);
+        columnMask = getMortonCode((int) ((1L << colBits) - 1), interleavedBits, 0);
+        rowOne = rowMask & -rowMask;
+        columnOne = columnMask & -columnMask;
+        long size = 1L << (rowBits + colBits);
+        rightWalls = newFilledBits(size);
+        bottomWalls = newFilledBits(size);
+        topBorder = newFilledBits(numCols);
+        leftBorder = newFilledBits(numRows);
+    }
+
+    /**
+     * Construct a copy of a storage
+     * @param source
+     * The storage to copy
+     */
+    private MortonMazeStorage(MortonMazeStorage source){
+        numRows = source.numRows;
+        numCols = source.numCols;
+        // The codes are never changed, they can be shared
+        rowCodes = source.rowCodes;
+        columnCodes = source.columnCodes;
+        rowMask = source.rowMask;
+        columnMask = source.columnMask;
+        rowOne = source.rowOne;
+        columnOne = source.columnOne;
+        rightWalls = source.rightWalls.clone();
+        bottomWalls = source.bottomWalls.clone();
+        topBorder = source.topBorder.clone();
+        leftBorder = source.leftBorder.clone();
+    }
+
+    /**
+     * Get the number of bits needed to write the indexes below a size
+     * @param size
+     * The size, greater than 0
+     * @return
+     * A {@code int} of the number of bits
+     */
+    private static int bitsFor(int size){
+        return size == 1 ? 0 : 32 - Integer.numberOfLeadingZeros(size - 1);
+    }
+
+    /**
+     * Spread the bits of a value, a zero is put between each bit
+     * @param value
+     * The value, lower than {@code 2^31}
+     * @return
+     * A {@code long} with the bit {@code i} of the value at the bit {@code 2 * i}
+     */
+    private static long spreadBits(int value){
+        long x = value & 0xFFFFFFFFL;
+        x = (x | (x << 16)) & 0x0000FFFF0000FFFFL;
+        x = (x | (x << 8)) & 0x00FF00FF00FF00FFL;
+        x = (x | (x << 4)) & 0x0F0F0F0F0F0F0F0FL;
+        x = (x | (x << 2)) & 0x3333333333333333L;
+        x = (x | (x << 1)) & 0x5555555555555555L;
+        return x;
+    }
+
+    /**
+     * Get the part of a Morton position given by a row or a column
+     * @param value
+     * The row or the column
+     * @param interleavedBits
+     * The number of lowest bits interleaved with the other side
+     * @param offset
+     * 1 for a row, its bits go on the odd bits, 0 for a column, its bits go on the even bits
+     * @return
+     * A {@code long} with the lowest bits spread one bit out of two,
+     * and the bits left, if the side is the larger one, above the interleaved bits
+     */
+    private static long getMortonCode(int value, int interleavedBits, int offset){
+        long interleaved = spreadBits(value & ((1 << interleavedBits) - 1)) << offset;
+        long high = (long) (value >>> interleavedBits) << (interleavedBits << 1);
+        return interleaved | high;
+    }
+
+    /**
+     * Get the position of a tile in Morton order
+     * @param row
+     * The row of the tile
+     * @param column
+     * The column of the tile
+     * @return
+     * A {@code long} of the position of the tile in the bit grids
+     */
+    public long getMortonIndex(int row, int column){
+        return rowCodes[row] | columnCodes[column];
+    }
+
+    /**
+     * Get the position of a cell in Morton order
+     * @param cell
+     * The cell id
+     * @return
+     * A {@code long} of the position of the cell in the bit grids
+     */
+    private long positionOf(int cell){
+        int row = cell / numCols;
+        return getMortonIndex(row, cell - row * numCols);
+    }
+
+    /**
+     * Get the position of the tile above a tile, the row of the tile must not be 0
+     * @param position
+     * The Morton position of the tile
+     * @return
+     * A {@code long} of the Morton position of the tile above
+     */
+    private long stepUp(long position){
+        return (((position & rowMask) - rowOne) & rowMask) | (position & columnMask);
+    }
+
+    /**
+     * Get the position of the tile on the left of a tile, the column of the tile must not be 0
+     * @param position
+     * The Morton position of the tile
+     * @return
+     * A {@code long} of the Morton position of the tile on the left
+     */
+    private long stepLeft(long position){
+        return (((position & columnMask) - columnOne) & columnMask) | (position & rowMask);
+    }
+
+    /**
+     * Get the position of the tile on the right of a tile, the tile must not be on the last column
+     * @param position
+     * The Morton position of the tile
+     * @return
+     * A {@code long} of the Morton position of the tile on the right
+     */
+    private long stepRight(long position){
+        // The bits outside of the mask are set, so the carry goes through them
+        return (((position | ~columnMask) + columnOne) & columnMask) | (position & rowMask);
+    }
+
+    /**
+     * Create a bit array with all the bits set
+     * @param size
+     * The number of bits
+     * @return
+     * A {@code long[]} large enough to hold {@code size} bits, all set to 1
+     */
+    private static long[] newFilledBits(long size){
+        long[] bits = new long[(int) ((size + 63) >>> 6)];
+        Arrays.fill(bits, -1L);
+        return bits;
+    }
+
+    /**
+     * Read a bit of a bit array
+     * @param bits
+     * The bit array
+     * @param index
+     * The index of the bit
+     * @return
+     * {@code true} if the bit is set, {@code false} if not
+     */
+    private static boolean getBit(long[] bits, long index){
+        return (bits[(int) (index >>> 6)] & (1L << index)) != 0;
+    }
+
+    /**
+     * Write a bit of a bit array
+     * @param bits
+     * The bit array
+     * @param index
+     * The index of the bit
+     * @param value
+     * {@code true} to set the bit, {@code false} to clear it
+     */
+    private static void setBit(long[] bits, long index, boolean value){
+        if (value) {
+            bits[(int) (index >>> 6)] |= (1L << index);
+        } else {
+            bits[(int) (index >>> 6)] &= ~(1L << index);
+        }
+    }
+
+    @Override
+    public int getNumRows(){
+        return numRows;
+    }
+
+    @Override
+    public int getNumCols(){
+        return numCols;
+    }
+
+    @Override
+    public boolean hasRightWall(int cell){
+        return getBit(rightWalls, positionOf(cell));
+    }
+
+    @Override
+    public void setRightWall(int cell, boolean wall){
+        setBit(rightWalls, positionOf(cell), wall);
+    }
+
+    @Override
+    public boolean hasBottomWall(int cell){
+        return getBit(bottomWalls, positionOf(cell));
+    }
+
+    @Override
+    public void setBottomWall(int cell, boolean wall){
+        setBit(bottomWalls, positionOf(cell), wall);
+    }
+
+    @Override
+    public boolean hasTopBorderWall(int column){
+        return getBit(topBorder, column);
+    }
+
+    @Override
+    public void setTopBorderWall(int column, boolean wall){
+        setBit(topBorder, column, wall);
+    }
+
+    @Override
+    public boolean hasLeftBorderWall(int row){
+        return getBit(leftBorder, row);
+    }
+
+    @Override
+    public void setLeftBorderWall(int row, boolean wall){
+        setBit(leftBorder, row, wall);
+    }
+
+    @Override
+    public int getOpenDirections(int cell){
+        int row = cell / numCols;
+        int column = cell - row * numCols;
+        // The position of the cell is looked up once, the neighbors are stepped to from it
+        long position = getMortonIndex(row, column);
+        int mask = 0;
+        if (row != 0 && !getBit(bottomWalls, stepUp(position))) mask |= 1 << WallDirection.TOP.ordinal();
+        if (column != numCols - 1 && !getBit(rightWalls, position)) mask |= 1 << WallDirection.RIGHT.ordinal();
+        if (row != numRows - 1 && !getBit(bottomWalls, position)) mask |= 1 << WallDirection.BOTTOM.ordinal();
+        if (column != 0 && !getBit(rightWalls, stepLeft(position))) mask |= 1 << WallDirection.LEFT.ordinal();
+        return mask;
+    }
+
+    @Override
+    public void setRowWalls(int row, long[] rightWalls, long[] bottomWalls){
+        // The tiles of a row aren't next to each other in the Z-order, they are set one by one
+        long position = getMortonIndex(row, 0);
+        for (int column = 0; column < numCols; column++){
+            if (column > 0) position = stepRight(position);
+            setBit(this.rightWalls, position, (rightWalls[column >>> 6] & (1L << column)) != 0);
+            setBit(this.bottomWalls, position, (bottomWalls[column >>> 6] & (1L << column)) != 0);
+        }
+    }
+
+    @Override
+    public void reset(){
+        Arrays.fill(rightWalls, -1L);
+        Arrays.fill(bottomWalls, -1L);
+        Arrays.fill(topBorder, -1L);
+        Arrays.fill(leftBorder, -1L);
+    }
+
+    @Override
+    public IMazeStorage snapshot(){
+        // The bit grids can't be shared, the snapshot is a full copy
+        return new MortonMazeStorage(this);
+    }
+
+    @Override
+    public boolean isSnapshotShared(){
+        return false;
+    }
+
+    @Override
+    public SolverState createSolverState(){
+        long paddedSize = (long) rightWalls.length << 6;
+        // Too large for a byte array, keep the state in row-major order
+        if (paddedSize > Integer.MAX_VALUE - 8) return new ArraySolverState(numRows * numCols);
+
+        // The state of the solver is in Morton order too, it's read on each neighbor
+        return new SolverState() {
+            private final byte[] states = new byte[(int) paddedSize];
+
+            @Override
+            protected int getByte(int cell){
+                return states[(int) positionOf(cell)] & 0xFF;
+            }
+
+            @Override
+            protected void putByte(int cell, int value){
+                states[(int) positionOf(cell)] = (byte) value;
+            }
+        };
+    }
+}
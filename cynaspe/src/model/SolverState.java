@@ -0,0 +1,191 @@
+package model;
+
+import java.io.Closeable;
+import java.util.Arrays;
+
+import enums.TileStatus;
+import enums.WallDirection;
+
+/**
+ * Abstract base class for the state of a solver on a maze.
+ * <p>
+ * Each solver owns its state, so the maze is only read while solving and several
+ * solvers can run on the same maze at the same time. The state of a cell is a byte,
+ * the subclasses choose where the bytes are stored.
+ * </p>
+ * <p>
+ * While recording, the cells whose status changes are kept, so an animation only draws these tiles again.
+ * The recording isn't thread-safe, a solver writing its state from several threads must not record.
+ * </p>
+ * <pre>
+ * bit 0-1   status
+ * bit 2-3   parent direction
+ * bit 4     reached by the solver
+ * </pre>
+ */
+public abstract class SolverState implements Closeable {
+    /** Shift of the 2 bits of the parent direction */
+    private static final int PARENT_SHIFT = 2;
+    /** Bit set when the cell has been reached by the solver */
+    private static final int REACHED = 1 << 4;
+
+    /**
+     * Cached values of the tile status, indexed by their ordinal.
+     */
+    private static final TileStatus[] STATUSES = TileStatus.values();
+
+    /**
+     * Cached values of the wall directions, indexed by their ordinal.
+     */
+    private static final WallDirection[] DIRECTIONS = WallDirection.values();
+
+    /**
+     * Cells whose status changed since the last call of {@code getChangedCells}, in the first changedCount entries,
+     * {@code null} when not recording.
+     */
+    private int[] changedCells;
+
+    /**
+     * Number of cells recorded.
+     */
+    private int changedCount = 0;
+
+    /**
+     * Default constructor.
+     */
+    public SolverState() {
+
+    }
+
+    /**
+     * Start recording the cells whose status changes
+     */
+    public void startRecording(){
+        if (changedCells == null) changedCells = new int[16];
+        changedCount = 0;
+    }
+
+    /**
+     * Stop recording the cells whose status changes
+     */
+    public void stopRecording(){
+        changedCells = null;
+        changedCount = 0;
+    }
+
+    /**
+     * Get the cells whose status changed since the recording started or since the last call, then record again
+     * @return
+     * A {@code int[]} of the cell ids, sorted and without duplicates
+     */
+    public int[] getChangedCells(){
+        if (changedCells == null) throw new IllegalStateException("The state isn't recording");
+        int[] cells = Arrays.copyOf(changedCells, changedCount);
+        changedCount = 0;
+        Arrays.sort(cells);
+        int count = 0;
+        for (int i = 0; i < cells.length; i++){
+            if (count == 0 || cells[count - 1] != cells[i]) cells[count++] = cells[i];
+        }
+        return Arrays.copyOf(cells, count);
+    }
+
+    /**
+     * Release the memory of the state outside of the heap, if any, the state can't be used anymore.
+     * The states on the heap have nothing to release
+     */
+    @Override
+    public void close(){
+
+    }
+
+    /**
+     * Read the state byte of a cell
+     * @param cell
+     * The cell id
+     * @return
+     * The byte, as a {@code int} between 0 and 255
+     */
+    protected abstract int getByte(int cell);
+
+    /**
+     * Write the state byte of a cell
+     * @param cell
+     * The cell id
+     * @param value
+     * The byte to write
+     */
+    protected abstract void putByte(int cell, int value);
+
+    /**
+     * Get the solving status of a cell
+     * @param cell
+     * The cell id
+     * @return
+     * The {@code TileStatus} of the cell
+     */
+    public TileStatus getStatus(int cell){
+        return STATUSES[getByte(cell) & 3];
+    }
+
+    /**
+     * Set the solving status of a cell
+     * @param cell
+     * The cell id
+     * @param status
+     * The new status of the cell
+     */
+    public void setStatus(int cell, TileStatus status){
+        putByte(cell, (getByte(cell) & ~3) | status.ordinal());
+        if (changedCells != null) {
+            if (changedCount == changedCells.length) changedCells = Arrays.copyOf(changedCells, changedCount * 2);
+            changedCells[changedCount++] = cell;
+        }
+    }
+
+    /**
+     * Check if a cell has been reached by the solver
+     * @param cell
+     * The cell id
+     * @return
+     * {@code true} if it has been reached, {@code false} if not
+     */
+    public boolean isReached(int cell){
+        return (getByte(cell) & REACHED) != 0;
+    }
+
+    /**
+     * Mark a cell as reached or not by the solver
+     * @param cell
+     * The cell id
+     * @param isReached
+     * {@code true} if it has been reached, {@code false} if not
+     */
+    public void setReached(int cell, boolean isReached){
+        int current = getByte(cell);
+        putByte(cell, isReached ? current | REACHED : current & ~REACHED);
+    }
+
+    /**
+     * Get the direction of the parent of a cell, used to trace back the path of the solver
+     * @param cell
+     * The cell id
+     * @return
+     * The {@code WallDirection} to go from the cell to its parent
+     */
+    public WallDirection getParentDirection(int cell){
+        return DIRECTIONS[(getByte(cell) >>> PARENT_SHIFT) & 3];
+    }
+
+    /**
+     * Set the direction of the parent of a cell
+     * @param cell
+     * The cell id
+     * @param direction
+     * The {@code WallDirection} to go from the cell to its parent
+     */
+    public void setParentDirection(int cell, WallDirection direction){
+        int current = getByte(cell) & ~(3 << PARENT_SHIFT);
+        putByte(cell, current | (direction.ordinal() << PARENT_SHIFT));
+    }
+}
@@ -1,76 +1,56 @@
 package model;
 
-import java.util.HashMap;
-import java.util.Map;
-
-import enums.TileStatus;
 import enums.WallDirection;
 
 /**
  * Represents a single tile in a maze.
  * <p>
- * Each tile has a position (row and column), walls on its four sides,
- * and status information used during maze generation and solving.
+ * Each tile has a position (row and column) and walls on its four sides.
+ * A tile is a view on a cell of its maze, the walls are
+ * not kept in the tile, they are read from the storage of the maze.
  * </p>
  */
 public class TileModel {
     /**
      * The row where the tile is placed.
      */
-    public int row;
+    public final int row;
 
     /**
      * The column where the tile is placed.
      */
-    public int column;
-
-    /**
-     * The walls of the tile.
-     * Represented like this:
-     * {TOP: false, RIGHT: false, LEFT: false, BOTTOM: false}
-     */
-    public Map<WallDirection, Boolean> walls = new HashMap<>();
+    public final int column;
 
     /**
-     * Indicates if the tile has been visited during generation.
+     * The maze the tile belongs to, the data of the tile are stored in it.
      */
-    public boolean isVisited = false;
-
-    /**
-     * The status of the tile during solving.
-     */
-    public TileStatus status = TileStatus.UNVISITED;
-
+    public final MazeModel maze;
 
     /**
      * Construct a tile with the row and column given
+     * @param maze
+     * The maze the tile belongs to
      * @param row
      * Row where the tile is placed
      * @param column
      * Column where the tile is placed
      */
-    public TileModel(int row, int column){
+    public TileModel(MazeModel maze, int row, int column){
+        if (maze == null) {
+            throw new IllegalArgumentException("Maze cannot be null");
+        }
+        this.maze = maze;
         this.row = row;
         this.column = column;
-        // Put walls in all direction of the tile
-        for (WallDirection dir : WallDirection.values()) {
-            walls.put(dir, true);
-        }
     }
 
     /**
-     * Construct a case with the row, column and walls given
-     * @param row
-     * Row where the tile is placed
-     * @param column
-     * Column where the tile is placed
-     * @param walls
-     * The walls of the tile
+     * Get the cell id of the tile in its maze
+     * @return
+     * A {@code int} that is {@code row * numCols + column}
      */
-    public TileModel(int row, int column, Map<WallDirection,Boolean> walls){
-        this.row = row;
-        this.column = column;
-        this.walls = walls;
+    public int getCell(){
+        return maze.getCellId(row, column);
     }
 
     /**
@@ -106,18 +86,15 @@ public class TileModel {
          */
 
         // Get the direction of the tile
+        // The wall is shared in the maze, so the neighbor lose it too
         if (dx == 1) { // Neighbor is at the right
-            walls.put(WallDirection.RIGHT, false);
-            neighbor.walls.put(WallDirection.LEFT, false);
+            removeWall(WallDirection.RIGHT);
         } else if (dx == -1) { // Neighbor is at the left
-            walls.put(WallDirection.LEFT, false);
-            neighbor.walls.put(WallDirection.RIGHT, false);
+            removeWall(WallDirection.LEFT);
         } else if (dy == 1) { // Neighbor is below
-            walls.put(WallDirection.BOTTOM, false);
-            neighbor.walls.put(WallDirection.TOP, false);
+            removeWall(WallDirection.BOTTOM);
         } else if (dy == -1) { // Neighbor is above
-            walls.put(WallDirection.TOP, false);
-            neighbor.walls.put(WallDirection.BOTTOM, false);
+            removeWall(WallDirection.TOP);
         }
     }
 
@@ -127,11 +104,8 @@ public class TileModel {
      * The direction of the wall we want to remove
      */
     public void removeWall(WallDirection wallDirection){
-        // Check if the tile has a wall in the given direction
-        if (isWallPresent(wallDirection)){
-            // Update the walls Hashmap
-            walls.put(wallDirection, false);
-        }
+        // Update the wall bit in the maze
+        maze.removeWall(this, wallDirection);
     }
 
     /**
@@ -140,11 +114,8 @@ public class TileModel {
      * The direction of the wall we want to add
      */
     public void addWall(WallDirection wallDirection){
-        // Check if the tile has a wall in the given direction
-        if (!isWallPresent(wallDirection)){
-            // Update the walls Hashmap
-            walls.put(wallDirection, true);
-        }
+        // Update the wall bit in the maze
+        maze.addWall(this, wallDirection);
     }
 
     /**
@@ -160,13 +131,13 @@ public class TileModel {
 
         // Get the direction of the neighbor
         if (dx == 1) { // Neighbor is at the right
-            return this.walls.getOrDefault(WallDirection.RIGHT, true);
+            return isWallPresent(WallDirection.RIGHT);
         } else if (dx == -1) { // Neighbor is at the left
-            return this.walls.getOrDefault(WallDirection.LEFT, true);
+            return isWallPresent(WallDirection.LEFT);
         } else if (dy == 1) { // Neighbor is below
-            return this.walls.getOrDefault(WallDirection.BOTTOM, true);
+            return isWallPresent(WallDirection.BOTTOM);
         } else if (dy == -1) { // Neighbor is above
-            return this.walls.getOrDefault(WallDirection.TOP, true);
+            return isWallPresent(WallDirection.TOP);
         }
 
         return false;
@@ -180,7 +151,7 @@ public class TileModel {
      * {@code true} if there's a wall, or {@code false} if there's not
      */
     public boolean isWallPresent(WallDirection direction) {
-        return walls.getOrDefault(direction, false) == true;
+        return maze.hasWall(row, column, direction);
     }
 
     /**
@@ -193,32 +164,43 @@ public class TileModel {
      * A {@code String} that reprent the wall in bits
      */
     public String getWallBits(){
+        return getWallBits(maze.getWallMask(row, column));
+    }
+
+    /**
+     * Return a walls mask in bits format
+     * Order is TOP -> RIGHT -> BOTTOM -> LEFT
+     * @param mask
+     * A {@code int} where the bit {@code 1 << direction.ordinal()} is set for each wall present
+     * @return
+     * A {@code String} that reprent the wall in bits
+     */
+    public static String getWallBits(int mask){
         StringBuilder wallBits = new StringBuilder();
         // Write "1" if there's a wall, "0" if not
-        wallBits.append(walls.get(WallDirection.TOP) ? "1" : "0"); // First bit
-        wallBits.append(walls.get(WallDirection.RIGHT) ? "1" : "0"); // Second bit
-        wallBits.append(walls.get(WallDirection.BOTTOM) ? "1" : "0"); // Third bit
-        wallBits.append(walls.get(WallDirection.LEFT) ? "1" : "0"); // Fourth bit
+        wallBits.append((mask & (1 << WallDirection.TOP.ordinal())) != 0 ? "1" : "0"); // First bit
+        wallBits.append((mask & (1 << WallDirection.RIGHT.ordinal())) != 0 ? "1" : "0"); // Second bit
+        wallBits.append((mask & (1 << WallDirection.BOTTOM.ordinal())) != 0 ? "1" : "0"); // Third bit
+        wallBits.append((mask & (1 << WallDirection.LEFT.ordinal())) != 0 ? "1" : "0"); // Fourth bit
         return wallBits.toString();
     }
 
     /**
-     * Get the walls of the tile by reading the wallBits
+     * Get the walls mask by reading the wallBits
      * @param wallBits
      * The bits of the wall, 
      * Order is TOP -> RIGHT -> BOTTOM -> LEFT
      * @return
-     * {@code Map<WallDirection, Boolean>} of the actual walls
+     * A {@code int} where the bit {@code 1 << direction.ordinal()} is set for each wall present
      * Example : 
      * 0100
      * = {TOP: false, RIGHT: true, LEFT: false, BOTTOM: false}
      */
-    public static Map<WallDirection, Boolean> getWalls(String wallBits){
+    public static int getWallMask(String wallBits){
         if (wallBits == null || wallBits.length() != 4) {
             throw new IllegalArgumentException("wallBits must be a string of length 4");
         }
 
-        Map<WallDirection, Boolean> walls = new HashMap<>();
         // Check the bits of the walls are correct
         for (int i = 0; i < 4; i++) {
             char c = wallBits.charAt(i);
@@ -227,11 +209,26 @@ public class TileModel {
             }
         }
 
-        walls.put(WallDirection.TOP,    wallBits.charAt(0) == '1'); // First bit
-        walls.put(WallDirection.RIGHT,  wallBits.charAt(1) == '1'); // Second bit
-        walls.put(WallDirection.BOTTOM, wallBits.charAt(2) == '1'); // Third bit
-        walls.put(WallDirection.LEFT,   wallBits.charAt(3) == '1'); // Fourth bit
+        int mask = 0;
+        if (wallBits.charAt(0) == '1') mask |= 1 << WallDirection.TOP.ordinal(); // First bit
+        if (wallBits.charAt(1) == '1') mask |= 1 << WallDirection.RIGHT.ordinal(); // Second bit
+        if (wallBits.charAt(2) == '1') mask |= 1 << WallDirection.BOTTOM.ordinal(); // Third bit
+        if (wallBits.charAt(3) == '1') mask |= 1 << WallDirection.LEFT.ordinal(); // Fourth bit
     
-        return walls;
+        return mask;
+    }
+
+    @Override
+    public boolean equals(Object obj){
+        if (this == obj) return true;
+        if (!(obj instanceof TileModel)) return false;
+        // Two views on the same cell of the same maze are the same tile
+        TileModel other = (TileModel) obj;
+        return maze == other.maze && row == other.row && column == other.column;
+    }
+
+    @Override
+    public int hashCode(){
+        return 31 * row + column;
     }
 }
@@ -0,0 +1,74 @@
+package utils;
+
+import enums.MazeType;
+import model.MazeModel;
+
+/**
+ * Maze generator using the recursive backtracker, a randomized depth-first search.
+ * <p>
+ * The path goes to a random neighbor not visited while it can, then goes back until a tile
+ * has a neighbor not visited. The path is kept in a {@code int[]} used as a stack instead of
+ * recursive calls, so it can't overflow the stack on large mazes, the memory is a {@code int} per tile.
+ * The mazes have long corridors and few dead ends.
+ * </p>
+ */
+public class BacktrackerMazeGenerator extends MazeGenerator {
+    // Tiles of the current path, the last one is on the top
+    private final int[] stack;
+    // Number of tiles in the stack
+    private int stackSize = 0;
+    // Neighbors of a tile, reused at each step
+    private final int[] neighbors = new int[4];
+
+    /**
+     * Constructor to initialize the generator
+     * @param maze
+     * The grid of tiles to generate the maze on
+     * @param seed
+     * The seed used for the generation, can re-create a same maze
+     * @param mazeType
+     * The type of maze (PERFECT or IMPERFECT)
+     */
+    public BacktrackerMazeGenerator(MazeModel maze, int seed, MazeType mazeType){
+        super(maze, seed, mazeType);
+        stack = new int[maze.getCellCount()];
+    }
+
+    /**
+     * Go to a random neighbor not visited, or go back if there's none
+     */
+    @Override
+    protected void stepTree(){
+        int cell = stack[stackSize - 1];
+        int count = getNeighbors(cell, neighbors, false);
+        if (count == 0){
+            stackSize--;
+            return;
+        }
+        int next = neighbors[random.nextInt(count)];
+        removeWallBetween(cell, next);
+        markVisited(next);
+        stack[stackSize++] = next;
+    }
+
+    /**
+     * Empty the stack and start again from a random tile
+     */
+    @Override
+    protected void resetTree(){
+        stackSize = 0;
+        int start = random.nextInt(maze.getCellCount());
+        markVisited(start);
+        stack[stackSize++] = start;
+    }
+
+    /**
+     * Check if the path went back to the start
+     * @return
+     * {@code true} if the stack is empty, {@code false} if not
+     */
+    @Override
+    protected boolean isTreeComplete(){
+        return stackSize == 0;
+    }
+}
@@ -0,0 +1,64 @@
+package utils;
+
+import enums.MazeType;
+import model.MazeModel;
+
+/**
+ * Maze generator using the binary tree algorithm.
+ * <p>
+ * Each tile, in order, is connected to its top or its left neighbor, chosen at random.
+ * A tile only depends on itself, so the generator doesn't keep anything but the next tile,
+ * and the tiles could be made in any order or in parallel.
+ * The mazes have a corridor along the top row and the left column, and lean to the top left.
+ * </p>
+ */
+public class BinaryTreeMazeGenerator extends MazeGenerator {
+    // Next tile to connect
+    private int currentCell = 0;
+
+    /**
+     * Constructor to initialize the generator
+     * @param maze
+     * The grid of tiles to generate the maze on
+     * @param seed
+     * The seed used for the generation, can re-create a same maze
+     * @param mazeType
+     * The type of maze (PERFECT or IMPERFECT)
+     */
+    public BinaryTreeMazeGenerator(MazeModel maze, int seed, MazeType mazeType){
+        super(maze, seed, mazeType);
+    }
+
+    /**
+     * Connect the next tile to its top or its left neighbor
+     */
+    @Override
+    protected void stepTree(){
+        int numCols = maze.numCols;
+        int cell = currentCell++;
+        boolean hasTop = cell >= numCols;
+        boolean hasLeft = cell % numCols != 0;
+        // The top left tile is the root of the tree
+        if (hasTop && (!hasLeft || random.nextBoolean())) removeWallBetween(cell, cell - numCols);
+        else if (hasLeft) removeWallBetween(cell, cell - 1);
+        markVisited(cell);
+    }
+
+    /**
+     * Start again from the first tile
+     */
+    @Override
+    protected void resetTree(){
+        currentCell = 0;
+    }
+
+    /**
+     * Check if every tile has been connected
+     * @return
+     * {@code true} if the last tile has been connected, {@code false} if not
+     */
+    @Override
+    protected boolean isTreeComplete(){
+        return currentCell >= maze.getCellCount();
+    }
+}
@@ -0,0 +1,212 @@
+package utils;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import enums.MazeType;
+import model.MazeModel;
+
+/**
+ * Maze generator splitting the grid in square blocks generated in parallel.
+ * <p>
+ * Each block is a small maze made with Kruskal's algorithm on its own tiles, with its own random
+ * generator given by the seed and the position of the block, so the maze is the same whatever the number of threads.
+ * The blocks of a row of blocks (a band) are made by a same task, and the even bands are written
+ * before the odd bands: two bands written at the same time are a band apart, so they never share
+ * a word of the storage. The bands are a multiple of 64 rows, like the chunks of {@code ChunkedMazeStorage}.
+ * </p>
+ * <p>
+ * The blocks are then stitched together: the blocks are connected by a spanning tree chosen with the seed,
+ * and one wall is removed on the seam of each pair of blocks of the tree, so the maze stays a spanning tree.
+ * The seams have a single passage, so the blocks can be seen in a perfect maze.
+ * An imperfect maze is then braided in parallel by a {@code MazeBraider}, like the other generators.
+ * </p>
+ */
+public class BlockParallelMazeGenerator extends BulkMazeGenerator {
+    /** Size of a block side, a multiple of 64 */
+    private static final int BLOCK_SIZE = 128;
+
+    // The hash of the seed used for the generation, set at the start of the generation
+    private long seedHash;
+    // The number of threads used
+    private final int parallelism;
+    // The number of rows of blocks
+    private final int blockRows;
+    // The number of columns of blocks
+    private final int blockCols;
+    // The pool running the bands, only set during the generation
+    private ForkJoinPool pool;
+
+    /**
+     * Constructor to initialize the generator, using every core
+     * @param maze
+     * The grid of tiles to generate the maze on
+     * @param seed
+     * The seed used for the generation, can re-create a same maze
+     * @param mazeType
+     * The type of maze (PERFECT or IMPERFECT)
+     */
+    public BlockParallelMazeGenerator(MazeModel maze, int seed, MazeType mazeType){
+        this(maze, seed, mazeType, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor to initialize the generator
+     * @param maze
+     * The grid of tiles to generate the maze on
+     * @param seed
+     * The seed used for the generation, can re-create a same maze
+     * @param mazeType
+     * The type of maze (PERFECT or IMPERFECT)
+     * @param parallelism
+     * The number of threads to use, it doesn't change the maze generated
+     */
+    public BlockParallelMazeGenerator(MazeModel maze, int seed, MazeType mazeType, int parallelism){
+        super(maze, seed, mazeType);
+        if (parallelism <= 0) throw new IllegalArgumentException("Parallelism must be positive");
+
+        this.parallelism = parallelism;
+        this.blockRows = (maze.numRows + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        this.blockCols = (maze.numCols + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    }
+
+    /**
+     * Generate the whole maze, then braid it for an imperfect maze
+     */
+    @Override
+    protected void carve(){
+        seedHash = GenerationHelpers.mix(seed);
+        pool = new ForkJoinPool(parallelism);
+        try {
+            // Even bands, then odd bands
+            for (int parity = 0; parity < 2; parity++){
+                int first = parity;
+                parallelFor((blockRows - first + 1) / 2, index -> generateBand(first + 2 * index));
+            }
+        } finally {
+            pool.shutdown();
+            pool = null;
+        }
+        stitchBlocks();
+        if (mazeType == MazeType.IMPERFECT) new MazeBraider(maze, seed, loopDensity).braid(parallelism);
+    }
+
+    /**
+     * Run a loop in parallel on the pool
+     * @param count
+     * The number of iterations
+     * @param body
+     * The body of the loop, called with the index of the iteration
+     */
+    private void parallelFor(int count, IntConsumer body){
+        pool.submit(() -> IntStream.range(0, count).parallel().forEach(body)).join();
+    }
+
+    /**
+     * Generate the blocks of a band
+     * @param blockRow
+     * The row of blocks
+     */
+    private void generateBand(int blockRow){
+        // Buffers of the band, reused by each block
+        int[] edges = new int[2 * BLOCK_SIZE * BLOCK_SIZE];
+        DisjointSet disjointSet = new DisjointSet(BLOCK_SIZE * BLOCK_SIZE);
+        for (int blockCol = 0; blockCol < blockCols; blockCol++){
+            SplittableRandom random = new SplittableRandom(GenerationHelpers.mix(seedHash + (long) blockRow * blockCols + blockCol));
+            generateBlock(blockRow, blockCol, edges, disjointSet, random);
+        }
+    }
+
+    /**
+     * Generate a block with Kruskal's algorithm on its tiles
+     * @param blockRow
+     * The row of the block
+     * @param blockCol
+     * The column of the block
+     * @param edges
+     * Buffer for the packed edges of the block, like in {@code KruskalMazeGenerator} with the cells of the block
+     * @param disjointSet
+     * Disjoint set of the cells of the block, reset here
+     * @param random
+     * The random generator of the block
+     */
+    private void generateBlock(int blockRow, int blockCol, int[] edges, DisjointSet disjointSet, SplittableRandom random){
+        int numCols = maze.numCols;
+        int firstRow = blockRow * BLOCK_SIZE;
+        int firstColumn = blockCol * BLOCK_SIZE;
+        int height = Math.min(BLOCK_SIZE, maze.numRows - firstRow);
+        int width = Math.min(BLOCK_SIZE, numCols - firstColumn);
+
+        int edgeCount = 0;
+        for (int cell = 0; cell < height * width; cell++){
+            disjointSet.makeSet(cell);
+            if (cell % width != width - 1) edges[edgeCount++] = cell << 1;
+            if (cell < (height - 1) * width) edges[edgeCount++] = (cell << 1) | GenerationHelpers.BOTTOM_EDGE;
+        }
+
+        // Shuffle the edges, then connect the cells taking them in order
+        for (int i = edgeCount; i > 1; i--){
+            int j = random.nextInt(i);
+            int swap = edges[i - 1];
+            edges[i - 1] = edges[j];
+            edges[j] = swap;
+        }
+        int setCount = height * width;
+        for (int i = 0; i < edgeCount && setCount > 1; i++){
+            int edge = edges[i];
+            int cell1 = edge >>> 1;
+            boolean bottom = (edge & GenerationHelpers.BOTTOM_EDGE) != 0;
+            int cell2 = bottom ? cell1 + width : cell1 + 1;
+            if (!disjointSet.union(cell1, cell2)) continue;
+            setCount--;
+
+            int mazeCell = (firstRow + cell1 / width) * numCols + firstColumn + cell1 % width;
+            maze.removeWallBetween(mazeCell, bottom ? mazeCell + numCols : mazeCell + 1);
+        }
+    }
+
+    /**
+     * Connect the blocks: a spanning tree of the blocks is chosen with Kruskal's algorithm,
+     * and a random wall is removed on the seam of each pair of blocks of the tree
+     */
+    private void stitchBlocks(){
+        int numCols = maze.numCols;
+        int blockCount = blockRows * blockCols;
+        SplittableRandom random = new SplittableRandom(GenerationHelpers.mix(~seedHash));
+
+        // Packed edges between the blocks, like in KruskalMazeGenerator with the blocks as cells
+        int[] seams = new int[GenerationHelpers.getEdgeCount(blockRows, blockCols)];
+        for (int index = 0; index < seams.length; index++){
+            seams[index] = GenerationHelpers.edgeAt(index, blockRows, blockCols);
+        }
+        for (int i = seams.length; i > 1; i--){
+            int j = random.nextInt(i);
+            int swap = seams[i - 1];
+            seams[i - 1] = seams[j];
+            seams[j] = swap;
+        }
+
+        DisjointSet disjointSet = new DisjointSet(blockCount);
+        for (int seam : seams){
+            int block = seam >>> 1;
+            boolean bottom = (seam & GenerationHelpers.BOTTOM_EDGE) != 0;
+            if (!disjointSet.union(block, bottom ? block + blockCols : block + 1)) continue;
+
+            int firstRow = (block / blockCols) * BLOCK_SIZE;
+            int firstColumn = (block % blockCols) * BLOCK_SIZE;
+            if (bottom){
+                // A column of the bottom seam, under the last row of the block
+                int row = firstRow + BLOCK_SIZE - 1;
+                int column = firstColumn + random.nextInt(Math.min(BLOCK_SIZE, numCols - firstColumn));
+                maze.removeWallBetween(row * numCols + column, (row + 1) * numCols + column);
+            } else {
+                // A row of the right seam, after the last column of the block
+                int row = firstRow + random.nextInt(Math.min(BLOCK_SIZE, maze.numRows - firstRow));
+                int column = firstColumn + BLOCK_SIZE - 1;
+                maze.removeWallBetween(row * numCols + column, row * numCols + column + 1);
+            }
+        }
+    }
+}
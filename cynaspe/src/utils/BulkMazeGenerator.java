@@ -0,0 +1,164 @@
+package utils;
+
+import enums.MazeType;
+import model.MazeModel;
+
+/**
+ * Abstract base class for the generators carving the whole maze at once.
+ * <p>
+ * These generators are made for large mazes, they run on several cores or handle many tiles
+ * at a time, so they have no steps to show: a step generates the whole maze and changes every tile.
+ * They can still be used wherever an {@code IMazeGenerator} is expected.
+ * </p>
+ */
+public abstract class BulkMazeGenerator implements IMazeGenerator {
+    /**
+     * Construct the generator on a maze
+     * @param maze
+     * The grid of tiles to generate the maze on
+     * @param seed
+     * The seed used for the generation, can re-create a same maze
+     * @param mazeType
+     * The type of maze (PERFECT or IMPERFECT)
+     */
+    public BulkMazeGenerator(MazeModel maze, int seed, MazeType mazeType){
+        // Check if the maze is correct
+        if (maze == null) throw new IllegalArgumentException("Maze cannot be null");
+
+        this.maze = maze;
+        this.mazeType = mazeType;
+        this.seed = seed;
+    }
+
+    /**
+     * The maze to generate.
+     */
+    protected final MazeModel maze;
+
+    /**
+     * The type of maze to generate.
+     */
+    protected final MazeType mazeType;
+
+    /**
+     * The seed used for the generation.
+     */
+    protected int seed;
+
+    /**
+     * Chance of a dead end to be opened for an imperfect maze.
+     */
+    protected double loopDensity = MazeBraider.DEFAULT_DENSITY;
+
+    /**
+     * {@code true} once the maze has been generated.
+     */
+    private boolean complete = false;
+
+    /**
+     * {@code true} if the last call of {@code step} generated the maze.
+     */
+    private boolean changed = false;
+
+    /**
+     * Carve the whole maze, on a maze with all its walls
+     */
+    protected abstract void carve();
+
+    /**
+     * Generate the whole maze, it is the only step
+     * @return
+     * A boolean that say if a step has been done or if the algorithm had already finished
+     */
+    @Override
+    public boolean step(){
+        return step(1) == 1;
+    }
+
+    /**
+     * Generate the whole maze if the budget allows a step
+     * @param budget
+     * The largest number of steps to do
+     * @return
+     * A {@code int} of the number of steps done, 1 or 0
+     */
+    @Override
+    public int step(int budget){
+        if (budget < 0) throw new IllegalArgumentException("Budget cannot be negative");
+        changed = budget > 0 && !complete;
+        if (changed) generateAll();
+        return changed ? 1 : 0;
+    }
+
+    /**
+     * Get the tiles changed by the last call of {@code step}, every tile if it generated the maze
+     * @return
+     * A {@code int[]} of the cell ids, sorted and without duplicates
+     */
+    @Override
+    public int[] getChangedCells(){
+        if (!changed) return new int[0];
+        int[] cells = new int[maze.getCellCount()];
+        for (int cell = 0; cell < cells.length; cell++){
+            cells[cell] = cell;
+        }
+        return cells;
+    }
+
+    /**
+     * Start the generation again with another seed, on the same maze
+     * @param seed
+     * The seed of the new maze
+     */
+    @Override
+    public void reset(int seed){
+        maze.reset();
+        this.seed = seed;
+        complete = false;
+        changed = false;
+    }
+
+    /**
+     * Check if the maze has been generated
+     * @return
+     * {@code true} if the algorithm has finished, {@code false} if not
+     */
+    @Override
+    public boolean isComplete(){
+        return complete;
+    }
+
+    /**
+     * Generate the whole maze
+     */
+    @Override
+    public void generateAll(){
+        if (complete) return;
+        carve();
+        complete = true;
+    }
+
+    /**
+     * Set the chance of a dead end to be opened for an imperfect maze, before the maze is generated
+     * @param loopDensity
+     * The chance, between 0 and 1
+     */
+    @Override
+    public void setLoopDensity(double loopDensity){
+        if (!(loopDensity >= 0 && loopDensity <= 1)) throw new IllegalArgumentException("Density must be between 0 and 1");
+        if (complete) throw new IllegalStateException("The maze has already been generated");
+        this.loopDensity = loopDensity;
+    }
+
+    /**
+     * Check if a tile has been visited by the generation, every tile is visited at once
+     * @param cell
+     * The cell id of the tile
+     * @return
+     * {@code true} if the maze has been generated, {@code false} if not
+     */
+    @Override
+    public boolean isVisited(int cell){
+        return complete;
+    }
+}
@@ -1,9 +1,6 @@
 package utils;
 
-import java.util.HashMap;
-import java.util.Map;
-
-import model.TileModel;
+import java.util.Arrays;
 
 /**
  * Disjoint-set (union-find) data structure for managing connected components
@@ -11,70 +8,98 @@ import model.TileModel;
  * This class is used in maze generation algorithms
  * to efficiently track and merge disjoint sets of tiles. Each tile starts in its own set,
  * and sets can be merged using union operations while checking connectivity using find operations.
+ * The tiles are identified by their cell id.
+ * </p>
+ * <p>
+ * The smaller set is always put under the larger one (union by size) and {@code find} halves
+ * the path it walks, so the trees stay almost flat and {@code find} is iterative, it can't
+ * overflow the stack on large mazes.
  * </p>
  */
 public class DisjointSet {
     /**
-     * Default constructor.
+     * Construct a disjoint-set with each cell in its own set
+     * @param size
+     * The number of cells
      */
-    public DisjointSet() {
-        
+    public DisjointSet(int size) {
+        parent = new int[size];
+        Arrays.fill(parent, -1);
     }
 
     /**
-     * Maps each tile to its parent in the disjoint-set.
-     * If a tile is its own parent, it's the root of it own set.
+     * Parent of each cell in the disjoint-set.
+     * A root of a set holds the opposite of the size of its set, so a negative value.
+     */
+    private int[] parent;
+
+    /**
+     * Put every cell back in its own set, without allocating
      */
-    private Map<TileModel, TileModel> parent = new HashMap<>();
+    public void reset(){
+        Arrays.fill(parent, -1);
+    }
 
     /**
-     * Make a set between two TileModel
-     * @param tile
-     * The other TileModel to make a set with
+     * Put a cell back in its own set, the cell must not be the parent of another cell
+     * @param cell
+     * The cell to make a set with
      */
-    public void makeSet(TileModel tile){
-        parent.put(tile, tile);
+    public void makeSet(int cell){
+        parent[cell] = -1;
     }
 
     /**
-     * Find a TileModel in the HashMap
-     * @param tile
-     * The TileModel we are searching in the HashMap
+     * Find the root of the set of a cell
+     * @param cell
+     * The cell we are searching the root
      * @return
-     * The TileModel found
+     * The cell id of the root
      */
-    public TileModel find(TileModel tile){
-        if (parent.get(tile) != tile){
-            parent.put(tile, find(parent.get(tile)));
+    public int find(int cell){
+        while (parent[cell] >= 0){
+            int next = parent[cell];
+            // Path halving, the cell skips its parent
+            if (parent[next] >= 0) parent[cell] = parent[next];
+            cell = next;
         }
-        return parent.get(tile);
+        return cell;
     }
 
     /**
-     * Connect two TileModel
-     * @param tile1
-     * The first tile
-     * @param tile2
-     * The second tile
+     * Connect two cells
+     * @param cell1
+     * The first cell
+     * @param cell2
+     * The second cell
+     * @return
+     * {@code true} if the two sets have been merged, {@code false} if the cells were already connected
      */
-    public void union(TileModel tile1, TileModel tile2){
-        TileModel root1 = find(tile1);
-        TileModel root2 = find(tile2);
-        if (root1 != root2){
-            parent.put(root1, root2);
+    public boolean union(int cell1, int cell2){
+        int root1 = find(cell1);
+        int root2 = find(cell2);
+        if (root1 == root2) return false;
+        // The sizes are negative, so the larger set has the lower value
+        if (parent[root1] > parent[root2]){
+            int swap = root1;
+            root1 = root2;
+            root2 = swap;
         }
+        parent[root1] += parent[root2];
+        parent[root2] = root1;
+        return true;
     }
 
     /**
-     * Check if two TileModel are connected
-     * @param tile1
-     * The first tile
-     * @param tile2
-     * The second tile
+     * Check if two cells are connected
+     * @param cell1
+     * The first cell
+     * @param cell2
+     * The second cell
      * @return
-     * True if the two tiles are connected, False if not
+     * True if the two cells are connected, False if not
      */
-    public boolean connected(TileModel tile1, TileModel tile2) {
-        return find(tile1) == find(tile2);
+    public boolean connected(int cell1, int cell2) {
+        return find(cell1) == find(cell2);
     }
 }
@@ -0,0 +1,86 @@
+package utils;
+
+/**
+ * Pseudo-random permutation of the integers between 0 and {@code size - 1}, given by a seed.
+ * <p>
+ * The permutation is a Feistel network on the smallest even number of bits holding {@code size}:
+ * each round mixes a half of the bits with a hash of the other half, which can always be undone,
+ * so the network is a bijection. The values outside of the range are encrypted again
+ * (cycle-walking) until they fall in the range, the network has less than 4 times more values
+ * than the range so it takes a few rounds on average.
+ * Nothing is stored, a value is computed when it is asked.
+ * </p>
+ */
+class EdgePermutation {
+    /** Number of rounds of the Feistel network */
+    private static final int ROUNDS = 4;
+
+    // Number of values of the permutation
+    private final int size;
+    // Number of bits of a half
+    private final int halfBits;
+    // Mask of the bits of a half
+    private final long halfMask;
+    // Key of each round, from the seed
+    private final long[] keys = new long[ROUNDS];
+
+    /**
+     * Construct the permutation
+     * @param size
+     * The number of values, positive
+     * @param seed
+     * The seed of the permutation, a same seed gives the same permutation
+     */
+    EdgePermutation(int size, long seed){
+        if (size <= 0) throw new IllegalArgumentException("Size must be positive");
+        this.size = size;
+        int bits = Math.max(2, 64 - Long.numberOfLeadingZeros(size - 1L));
+        halfBits = (bits + 1) / 2;
+        halfMask = (1L << halfBits) - 1;
+        setSeed(seed);
+    }
+
+    /**
+     * Change the seed of the permutation
+     * @param seed
+     * The new seed, a same seed gives the same permutation
+     */
+    void setSeed(long seed){
+        for (int round = 0; round < ROUNDS; round++){
+            keys[round] = GenerationHelpers.mix(seed * ROUNDS + round);
+        }
+    }
+
+    /**
+     * Get the value at a position of the permutation
+     * @param index
+     * The position, between 0 and {@code size - 1}
+     * @return
+     * A {@code int} of the value, between 0 and {@code size - 1}
+     */
+    int get(int index){
+        long value = index;
+        do {
+            value = encrypt(value);
+        } while (value >= size);
+        return (int) value;
+    }
+
+    /**
+     * Run the Feistel network on a value
+     * @param value
+     * The value, on {@code 2 * halfBits} bits
+     * @return
+     * A {@code long} of the encrypted value, on {@code 2 * halfBits} bits
+     */
+    private long encrypt(long value){
+        long left = value >>> halfBits;
+        long right = value & halfMask;
+        for (int round = 0; round < ROUNDS; round++){
+            long next = left ^ (GenerationHelpers.mix(keys[round] ^ right) & halfMask);
+            left = right;
+            right = next;
+        }
+        return (left << halfBits) | right;
+    }
+}
@@ -0,0 +1,361 @@
+package utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import enums.MazeType;
+import enums.WallDirection;
+import io.MazeStreamWriter;
+import model.MazeModel;
+
+/**
+ * Maze generator using Eller's algorithm.
+ * <p>
+ * The maze is made one row at a time: the tiles of the row are joined with the tiles on their right
+ * when they aren't in the same set, then each set goes down to the next row by at least one tile.
+ * On the last row, every set left is joined. Only the sets of the current row are kept,
+ * so the memory only depends on the number of columns and the rows can be written
+ * to a file as soon as they are finished, with {@code generate(MazeStreamWriter)}.
+ * </p>
+ * <p>
+ * The sets of a row are labels between 0 and {@code 2 * numCols}, merged with a small union-find.
+ * At the end of a row the labels going down are renumbered from 0, and the other tiles of the next row
+ * get new labels from {@code numCols}, so the labels never grow with the number of rows.
+ * </p>
+ * <p>
+ * An imperfect maze is the perfect maze braided like a {@code MazeBraider} with the same seed and density
+ * would braid it. The tree is carved a row ahead, so the top walls the next row opens are still in the row returned.
+ * </p>
+ */
+public class EllerMazeGenerator {
+    /** Bit of a wall mask for each direction */
+    private static final int TOP = 1 << WallDirection.TOP.ordinal();
+    private static final int RIGHT = 1 << WallDirection.RIGHT.ordinal();
+    private static final int BOTTOM = 1 << WallDirection.BOTTOM.ordinal();
+    private static final int LEFT = 1 << WallDirection.LEFT.ordinal();
+
+    // The number of rows of the maze
+    private final int numRows;
+    // The number of columns of the maze
+    private final int numCols;
+    // The type of maze to generate
+    private final MazeType mazeType;
+    // Random generator, seeded to re-create a same maze
+    private final Random random;
+    // Hash of the seed for the braiding, like the one of a MazeBraider
+    private final long seedHash;
+    // Chance of a dead end to be opened, for an imperfect maze
+    private final double loopDensity;
+    // Index of the next row to return
+    private int currentRow = 0;
+    // Index of the next row of the tree to carve, a row ahead of the rows returned for an imperfect maze
+    private int carvedRow = 0;
+
+    // Label of the set of each tile of the current row
+    private final int[] labels;
+    // Parent of each label in the union-find of the row, a root is its own parent
+    private final int[] parent;
+    // Tiles of the current row connected with the tile under them
+    private final boolean[] downOpen;
+    // Tiles of the previous row connected with the tile under them
+    private final boolean[] upOpen;
+    // Tiles of the current row connected with the tile on their right
+    private final boolean[] rightOpen;
+    // Last column of each set in the row, -1 once the set goes down
+    private final int[] lastColumn;
+    // New label of each label going down to the next row, -1 if not given yet
+    private final int[] renumber;
+    // Wall masks of the last row returned
+    private int[] wallMasks;
+    // Wall masks of the row after it, carved ahead for an imperfect maze
+    private int[] nextWallMasks;
+    // Direction opened by the braiding for each tile of the last row returned, and of the row after it
+    private byte[] choices;
+    private byte[] nextChoices;
+
+    /**
+     * Constructor to initialize the generator
+     * @param numRows
+     * The number of rows of the maze
+     * @param numCols
+     * The number of columns of the maze
+     * @param seed
+     * The seed used for the generation, can re-create a same maze
+     * @param mazeType
+     * The type of maze (PERFECT or IMPERFECT)
+     */
+    public EllerMazeGenerator(int numRows, int numCols, int seed, MazeType mazeType){
+        this(numRows, numCols, seed, mazeType, MazeBraider.DEFAULT_DENSITY);
+    }
+
+    /**
+     * Constructor to initialize the generator, with the chance of a dead end to be opened for an imperfect maze
+     * @param numRows
+     * The number of rows of the maze
+     * @param numCols
+     * The number of columns of the maze
+     * @param seed
+     * The seed used for the generation, can re-create a same maze
+     * @param mazeType
+     * The type of maze (PERFECT or IMPERFECT)
+     * @param loopDensity
+     * The chance of a dead end to be opened, between 0 and 1, only used for an imperfect maze
+     */
+    public EllerMazeGenerator(int numRows, int numCols, int seed, MazeType mazeType, double loopDensity){
+        if (numRows <= 0 || numCols <= 0) throw new IllegalArgumentException("Number of rows and columns must be positive");
+        if (numCols > Integer.MAX_VALUE / 2 - 8) throw new IllegalArgumentException("Maze has too many columns to be generated");
+        if (!(loopDensity >= 0 && loopDensity <= 1)) throw new IllegalArgumentException("Density must be between 0 and 1");
+
+        this.numRows = numRows;
+        this.numCols = numCols;
+        this.mazeType = mazeType;
+        this.random = new Random(seed);
+        this.seedHash = MazeBraider.hashSeed(seed);
+        this.loopDensity = loopDensity;
+
+        labels = new int[numCols];
+        parent = new int[2 * numCols];
+        downOpen = new boolean[numCols];
+        upOpen = new boolean[numCols];
+        rightOpen = new boolean[numCols];
+        lastColumn = new int[2 * numCols];
+        renumber = new int[2 * numCols];
+        wallMasks = new int[numCols];
+        if (mazeType == MazeType.IMPERFECT){
+            nextWallMasks = new int[numCols];
+            choices = new byte[numCols];
+            nextChoices = new byte[numCols];
+        }
+    }
+
+    /**
+     * Check if there are rows left to generate
+     * @return
+     * {@code true} if there is a row left, {@code false} if the maze is finished
+     */
+    public boolean hasNextRow(){
+        return currentRow < numRows;
+    }
+
+    /**
+     * Generate the next row of the maze
+     * @return
+     * A {@code int[]} of the wall mask of each tile of the row, a bit {@code 1 << direction.ordinal()}
+     * is set for each wall. The array is reused by the next row.
+     */
+    public int[] nextRow(){
+        if (!hasNextRow()) throw new IllegalStateException("Every row of the maze has already been generated");
+        if (mazeType != MazeType.IMPERFECT){
+            carveRow(wallMasks);
+            currentRow++;
+            return wallMasks;
+        }
+
+        if (currentRow == 0){
+            carveRow(wallMasks);
+            chooseRow(0, wallMasks, choices);
+        } else {
+            int[] swapMasks = wallMasks;
+            wallMasks = nextWallMasks;
+            nextWallMasks = swapMasks;
+            byte[] swapChoices = choices;
+            choices = nextChoices;
+            nextChoices = swapChoices;
+        }
+        // The next row is chosen on the tree, before this row opens its bottom walls
+        boolean lastRow = currentRow == numRows - 1;
+        if (!lastRow){
+            carveRow(nextWallMasks);
+            chooseRow(currentRow + 1, nextWallMasks, nextChoices);
+        }
+
+        for (int column = 0; column < numCols; column++){
+            // The top walls of this row were opened with the row above
+            int opened = choices[column] == MazeBraider.NONE ? 0 : 1 << choices[column];
+            if (opened == RIGHT){
+                wallMasks[column] &= ~RIGHT;
+                wallMasks[column + 1] &= ~LEFT;
+            } else if (opened == BOTTOM){
+                wallMasks[column] &= ~BOTTOM;
+                nextWallMasks[column] &= ~TOP;
+            } else if (opened == LEFT){
+                wallMasks[column] &= ~LEFT;
+                wallMasks[column - 1] &= ~RIGHT;
+            }
+            // The next row opens its top walls now, while this row can still be changed
+            if (!lastRow && nextChoices[column] != MazeBraider.NONE && 1 << nextChoices[column] == TOP){
+                nextWallMasks[column] &= ~TOP;
+                wallMasks[column] &= ~BOTTOM;
+            }
+        }
+
+        currentRow++;
+        return wallMasks;
+    }
+
+    /**
+     * Choose the dead ends of a row of the tree opened by the braiding, like {@code MazeBraider}
+     * @param row
+     * The row
+     * @param masks
+     * The wall masks of the row in the tree
+     * @param rowChoices
+     * Receive the ordinal of the direction opened for each tile, {@code MazeBraider.NONE} if it isn't opened
+     */
+    private void chooseRow(int row, int[] masks, byte[] rowChoices){
+        long firstCell = (long) row * numCols;
+        for (int column = 0; column < numCols; column++){
+            int open = ~masks[column] & (TOP | RIGHT | BOTTOM | LEFT);
+            int inner = MazeBraider.getInnerDirections(row, column, numRows, numCols);
+            rowChoices[column] = MazeBraider.choose(seedHash, loopDensity, firstCell + column, open, inner);
+        }
+    }
+
+    /**
+     * Carve the next row of the tree
+     * @param masks
+     * Receive the wall mask of each tile of the row
+     */
+    private void carveRow(int[] masks){
+        boolean lastRow = carvedRow == numRows - 1;
+
+        // The tiles connected to the previous row keep its set, the others start a new one
+        for (int column = 0; column < numCols; column++){
+            if (!upOpen[column]) labels[column] = numCols + column;
+            parent[labels[column]] = labels[column];
+        }
+
+        // Join the tiles with the tile on their right
+        for (int column = 0; column < numCols - 1; column++){
+            int root1 = find(labels[column]);
+            int root2 = find(labels[column + 1]);
+            if (root1 != root2){
+                // The last row must join every set, the maze would be cut otherwise
+                rightOpen[column] = lastRow || random.nextBoolean();
+                if (rightOpen[column]) parent[root2] = root1;
+            } else {
+                // Already connected, it would make a cycle, the loops are made by the braiding
+                rightOpen[column] = false;
+            }
+        }
+        rightOpen[numCols - 1] = false;
+
+        // Each set goes down by at least one tile
+        if (lastRow){
+            Arrays.fill(downOpen, false);
+        } else {
+            for (int column = 0; column < numCols; column++){
+                labels[column] = find(labels[column]);
+                lastColumn[labels[column]] = column;
+            }
+            for (int column = 0; column < numCols; column++){
+                downOpen[column] = random.nextBoolean();
+                if (downOpen[column]) lastColumn[labels[column]] = -1;
+            }
+            for (int column = 0; column < numCols; column++){
+                int last = lastColumn[labels[column]];
+                if (last >= 0){
+                    downOpen[last] = true;
+                    lastColumn[labels[column]] = -1;
+                }
+            }
+        }
+
+        // Write the walls of the row
+        for (int column = 0; column < numCols; column++){
+            int mask = 0;
+            if (!upOpen[column]) mask |= TOP;
+            if (!rightOpen[column]) mask |= RIGHT;
+            if (!downOpen[column]) mask |= BOTTOM;
+            if (column == 0 || !rightOpen[column - 1]) mask |= LEFT;
+            masks[column] = mask;
+        }
+
+        // Renumber the sets going down from 0, so the labels stay lower than numCols
+        if (!lastRow){
+            Arrays.fill(renumber, -1);
+            int next = 0;
+            for (int column = 0; column < numCols; column++){
+                if (!downOpen[column]) continue;
+                int label = labels[column];
+                if (renumber[label] < 0) renumber[label] = next++;
+                labels[column] = renumber[label];
+            }
+            System.arraycopy(downOpen, 0, upOpen, 0, numCols);
+        }
+
+        carvedRow++;
+    }
+
+    /**
+     * Find the root of a label in the union-find of the row
+     * @param label
+     * The label
+     * @return
+     * A {@code int} of the root label
+     */
+    private int find(int label){
+        while (parent[label] != label){
+            // Path halving, the label skips its parent
+            parent[label] = parent[parent[label]];
+            label = parent[label];
+        }
+        return label;
+    }
+
+    /**
+     * Generate the rows left and write them
+     * @param writer
+     * The writer of the maze file, its size must be the one of the generator
+     * @throws IOException
+     * if the writer fails
+     */
+    public void generate(MazeStreamWriter writer) throws IOException {
+        while (hasNextRow()){
+            writer.writeRow(nextRow());
+        }
+    }
+
+    /**
+     * Generate the rows left in a maze
+     * @param maze
+     * The maze where the walls are set, its size must be the one of the generator
+     */
+    public void generate(MazeModel maze){
+        if (maze == null) throw new IllegalArgumentException("Maze cannot be null");
+        if (maze.numRows != numRows || maze.numCols != numCols) throw new IllegalArgumentException("Maze must have " + numRows + " rows and " + numCols + " columns");
+        while (hasNextRow()){
+            int row = currentRow;
+            int[] masks = nextRow();
+            for (int column = 0; column < numCols; column++){
+                maze.setWallMask(row, column, masks[column]);
+            }
+        }
+    }
+
+    /**
+     * Generate a maze directly in a file, without keeping it in memory
+     * @param file
+     * The file where the maze is written
+     * @param numRows
+     * The number of rows of the maze
+     * @param numCols
+     * The number of columns of the maze
+     * @param seed
+     * The seed used for the generation
+     * @param mazeType
+     * The type of maze (PERFECT or IMPERFECT)
+     * @param loopDensity
+     * The chance of a dead end to be opened, between 0 and 1, only used for an imperfect maze
+     * @throws IOException
+     * if the file can't be written
+     */
+    public static void write(File file, int numRows, int numCols, int seed, MazeType mazeType, double loopDensity) throws IOException {
+        EllerMazeGenerator generator = new EllerMazeGenerator(numRows, numCols, seed, mazeType, loopDensity);
+        try (MazeStreamWriter writer = new MazeStreamWriter(file, numRows, numCols)){
+            generator.generate(writer);
+        }
+    }
+}
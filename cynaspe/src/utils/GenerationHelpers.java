@@ -0,0 +1,67 @@
+package utils;
+
+/**
+ * Helpers shared by the maze generators, for the packed edges and the hash of the seeds.
+ * <p>
+ * A packed edge is the cell at its left or on its top shifted by one bit, and a bit telling
+ * if it is the right or the bottom wall of the cell, so an edge fits in a {@code int}.
+ * </p>
+ */
+final class GenerationHelpers {
+    /** Bit of a packed edge set when the edge is the bottom wall of its cell */
+    static final int BOTTOM_EDGE = 1;
+
+    /** Largest number of tiles, the cell of an edge is shifted by 1 bit in a {@code int} */
+    static final int MAX_CELLS = 1 << 30;
+
+    private GenerationHelpers(){}
+
+    /**
+     * Get the number of edges of a maze
+     * @param numRows
+     * The number of rows of the maze
+     * @param numCols
+     * The number of columns of the maze
+     * @return
+     * A {@code int} of the number of edges between two tiles
+     */
+    static int getEdgeCount(int numRows, int numCols){
+        long edgeCount = (long) numRows * (numCols - 1) + (long) (numRows - 1) * numCols;
+        if (edgeCount > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("Maze has too many edges to be generated");
+        return (int) edgeCount;
+    }
+
+    /**
+     * Get the packed edge of an edge index, the right walls come first then the bottom walls
+     * @param index
+     * The index of the edge
+     * @param numRows
+     * The number of rows of the maze
+     * @param numCols
+     * The number of columns of the maze
+     * @return
+     * A {@code int} of the packed edge
+     */
+    static int edgeAt(int index, int numRows, int numCols){
+        int rightCount = numRows * (numCols - 1);
+        if (index < rightCount) {
+            int row = index / (numCols - 1);
+            int cell = index + row;
+            return cell << 1;
+        }
+        return ((index - rightCount) << 1) | BOTTOM_EDGE;
+    }
+
+    /**
+     * Mix the bits of a value (SplitMix64 finalizer)
+     * @param value
+     * The value to mix
+     * @return
+     * A {@code long} where each bit depends on all the bits of the value
+     */
+    static long mix(long value){
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
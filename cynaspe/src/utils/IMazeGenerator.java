@@ -0,0 +1,65 @@
+package utils;
+
+/**
+ * Interface for maze generator algorithms.
+ * <p>
+ * Classes implementing this interface must provide methods to carve
+ * a maze, step by step or all at once.
+ * </p>
+ */
+public interface IMazeGenerator {
+    /**
+     * Advance through the algorithm
+     * @return
+     * {@code true} if a step has been done
+     * {@code false} if the algorithm had already finished
+     */
+    public boolean step();
+    /**
+     * Advance through the algorithm by several steps
+     * @param budget
+     * The largest number of steps to do
+     * @return
+     * A {@code int} of the number of steps done, lower than the budget if the algorithm has finished
+     */
+    public int step(int budget);
+    /**
+     * Get the tiles changed by the last call of {@code step}, their walls or their visited state
+     * @return
+     * A {@code int[]} of the cell ids, sorted and without duplicates
+     */
+    public int[] getChangedCells();
+    /**
+     * Start the generation again with another seed, the walls of the maze are put back
+     * and the buffers of the generator are reused
+     * @param seed
+     * The seed of the new maze
+     */
+    public void reset(int seed);
+    /**
+     * Tell if the algorithm has finished or not
+     * @return
+     * {@code true} if it finished
+     * {@code false} if not
+     */
+    public boolean isComplete();
+    /**
+     * Run the algorithm until it has finished
+     */
+    public void generateAll();
+    /**
+     * Check if a tile has been visited by the generation
+     * @param cell
+     * The cell id of the tile
+     * @return
+     * {@code true} if it has been visited, {@code false} if not
+     */
+    public boolean isVisited(int cell);
+    /**
+     * Set the chance of a dead end to be opened for an imperfect maze,
+     * before the generation starts or after a reset
+     * @param loopDensity
+     * The chance, between 0 and 1
+     */
+    public void setLoopDensity(double loopDensity);
+}
@@ -1,30 +1,39 @@
 package utils;
 
-import java.util.Collections;
-import java.util.List;
 import java.util.Random;
 
 import enums.MazeType;
-import model.EdgeModel;
 import model.MazeModel;
-import model.TileModel;
 
 /**
  * Maze generator using Kruskal's algorithm.
  * <p>
  * This generator creates a maze by treating each tile as a node and
  * connecting them with edges, ensuring no cycles.
+ * The edges are packed in a {@code int[]}, an edge is the cell at its left or on its top
+ * and a bit telling if it is the right or the bottom wall of the cell, so the generation
+ * doesn't allocate an object per edge.
+ * </p>
+ * <p>
+ * With the implicit order, the edges aren't created nor shuffled: the i-th edge taken is
+ * the edge at the position i of a permutation of the edge indices given by the seed,
+ * computed when it is taken. The order then takes no memory and the generation starts at once,
+ * but the mazes aren't the same as with the shuffled edges.
  * </p>
  */
-public class KruskalMazeGenerator {
-    // The type of maze to generate
-    private MazeType mazeType = MazeType.PERFECT;
+public class KruskalMazeGenerator extends MazeGenerator {
     // Index used for looping through edges during the maze generation
     private int currentIndex = 0;
-    // List of edges between tile in the maze
-    private List<EdgeModel> edges;
+    // Edges between the tiles of the maze, packed and shuffled, null with the implicit order
+    private int[] edges;
+    // Order of the edge indices with the implicit order, null with the shuffled edges
+    private EdgePermutation permutation;
+    // Number of edges between the tiles of the maze
+    private int edgeCount;
     // Disjoint set to track connected tiles
     private DisjointSet disjointSet;
+    // Number of sets left in the disjoint set, the maze is connected when there's only one
+    private int setCount;
 
     /**
      * Constructor to initialize the generator
@@ -36,66 +45,120 @@ public class KruskalMazeGenerator {
      * The type of maze (PERFECT or IMPERFECT)
      */
     public  KruskalMazeGenerator(MazeModel maze, int seed, MazeType mazeType){
-        // Check if the maze is correct
-        if (maze == null) throw new IllegalArgumentException("Maze cannot be null");
-        if (maze.getEdges() == null) throw new IllegalArgumentException("Maze edges cannot be null");
-        if (maze.tiles == null) throw new IllegalArgumentException("Maze tiles cannot be null");
-
-        // Set the maze type
-        this.mazeType = mazeType;
+        this(maze, seed, mazeType, false);
+    }
 
-        disjointSet = new DisjointSet();
+    /**
+     * Constructor to initialize the generator
+     * @param maze
+     * The grid of tiles to generate the maze on
+     * @param seed
+     * The seed used for the generation, can re-create a same maze
+     * @param mazeType
+     * The type of maze (PERFECT or IMPERFECT)
+     * @param implicitOrder
+     * {@code true} to take the edges in the order of a permutation computed on the fly,
+     * {@code false} to create and shuffle the edges
+     */
+    public KruskalMazeGenerator(MazeModel maze, int seed, MazeType mazeType, boolean implicitOrder){
+        super(maze, seed, mazeType);
+        // Check if the maze is correct
+        if (maze.getCellCount() > GenerationHelpers.MAX_CELLS) throw new IllegalArgumentException("Maze cannot have more than " + GenerationHelpers.MAX_CELLS + " tiles");
 
-        edges = maze.getEdges();
-        // Shuffle the edges randomly for random maze structure
-        // Seed for re-creating a maze
-        Collections.shuffle(edges, new Random(seed));
+        disjointSet = new DisjointSet(maze.getCellCount());
+        edgeCount = GenerationHelpers.getEdgeCount(maze.numRows, maze.numCols);
+        if (implicitOrder){
+            permutation = edgeCount > 0 ? new EdgePermutation(edgeCount, seed) : null;
+        } else {
+            edges = new int[edgeCount];
+        }
+    }
 
-        for (TileModel[] row : maze.tiles){
-            if (row == null) throw new IllegalArgumentException("Row cannot be null");
-            for (TileModel tile: row){
-                if (tile == null) throw new IllegalArgumentException("Tile cannot be null");
-                disjointSet.makeSet(tile);
+    /**
+     * Put the packed edges of a maze in an array, in the same order as {@code MazeModel.getEdges}
+     * @param maze
+     * The maze
+     * @param edges
+     * The array receiving the packed edges, of the length of the edge count
+     */
+    private static void fillEdges(MazeModel maze, int[] edges){
+        int numRows = maze.numRows;
+        int numCols = maze.numCols;
+        int count = 0;
+        for (int row = 0; row < numRows; row++){
+            for (int column = 0; column < numCols; column++){
+                int cell = row * numCols + column;
+                // Edge with the tile on the top, it's the bottom wall of that tile
+                if (row > 0) edges[count++] = ((cell - numCols) << 1) | GenerationHelpers.BOTTOM_EDGE;
+                // Edge with the tile on the left, it's the right wall of that tile
+                if (column > 0) edges[count++] = (cell - 1) << 1;
             }
         }
     }
 
     /**
-     * Move one step forward the algorithm
-     * @return
-     * A boolean that say if the algorithm has been finished or not
+     * Shuffle an array in place, with the same draws as {@code Collections.shuffle},
+     * so a seed gives the same maze as before the edges were packed
+     * @param array
+     * The array to shuffle
+     * @param random
+     * The random generator
      */
-    public boolean step(){
-        // If it complete, there isn't any more steps
-        if (isComplete()) return false;
+    private static void shuffle(int[] array, Random random){
+        for (int i = array.length; i > 1; i--){
+            int j = random.nextInt(i);
+            int swap = array[i - 1];
+            array[i - 1] = array[j];
+            array[j] = swap;
+        }
+    }
 
-        EdgeModel edge = edges.get(currentIndex++);
-        // If the two tiles arent connected
-        if (!disjointSet.connected(edge.tile1, edge.tile2)){
-            // Connect the two tiles
-            disjointSet.union(edge.tile1, edge.tile2);
+    /**
+     * Take the next edge, the walls making cycles are removed here for an imperfect maze
+     */
+    @Override
+    protected void stepTree(){
+        int edge = edges != null ? edges[currentIndex++] : GenerationHelpers.edgeAt(permutation.get(currentIndex++), maze.numRows, maze.numCols);
+        int cell1 = edge >>> 1;
+        int cell2 = (edge & GenerationHelpers.BOTTOM_EDGE) != 0 ? cell1 + maze.numCols : cell1 + 1;
+        // Connect the two tiles if they aren't connected
+        if (disjointSet.union(cell1, cell2)){
+            setCount--;
             // Remove the wall between the two
-            edge.tile1.removeWall(edge.tile2);
+            removeWallBetween(cell1, cell2);
 
             // Tell that the two tiles are visited
-            edge.tile1.isVisited = true;
-            edge.tile2.isVisited = true;
-        } else if (mazeType == MazeType.IMPERFECT){
-            if (Math.random() < 0.50) {
-                edge.tile1.removeWall(edge.tile2);
-            }
+            markVisited(cell1);
+            markVisited(cell2);
         }
+    }
 
-        // There are steps remaining
-        return true;
+    /**
+     * Put every tile back in its own set and order the edges again with the seed, in the same buffers
+     */
+    @Override
+    protected void resetTree(){
+        disjointSet.reset();
+        setCount = maze.getCellCount();
+        currentIndex = 0;
+        if (permutation != null){
+            permutation.setSeed(seed);
+        } else if (edges != null){
+            fillEdges(maze, edges);
+            // Shuffle the edges randomly for random maze structure
+            // Seed for re-creating a maze
+            shuffle(edges, random);
+        }
     }
 
     /**
-     * Check if the algorithm has been completed
+     * Check if every tile is connected
      * @return
-     * {@code true} if the algorithm has finished, {@code false} if not
+     * {@code true} if the spanning tree is complete, {@code false} if not
      */
-    public boolean isComplete() {
-        return currentIndex >= edges.size();
+    @Override
+    protected boolean isTreeComplete(){
+        // The edges left would only make cycles
+        return setCount == 1 || currentIndex >= edgeCount;
     }
 }
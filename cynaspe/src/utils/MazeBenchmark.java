@@ -0,0 +1,212 @@
+package utils;
+
+import java.util.SplittableRandom;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import algorithms.BreadthFirstSolver;
+import algorithms.DjikstraSolver;
+import algorithms.ISolverAlgorithm;
+import algorithms.MazePathIndex;
+import algorithms.ParallelBreadthFirstSolver;
+import enums.MazeType;
+import model.ArrayMazeStorage;
+import model.ChunkedMazeStorage;
+import model.IMazeStorage;
+import model.MazeModel;
+import model.MortonMazeStorage;
+
+/**
+ * Benchmark of the generators, and of the solvers on the different storages of a maze.
+ * <p>
+ * The generators making large mazes are first timed on the square maze, the parallel ones with a given
+ * number of threads. The same square maze is copied in each storage, then solved with BFS, the parallel BFS and Dijkstra.
+ * Two mazes are used: a perfect maze, and a grid without any inner wall where the frontier
+ * of the solvers is a diamond around the start tile. On the perfect maze, the path index
+ * is also timed, to build it and to answer queries between random tiles.
+ * The time of a solve is the best of several runs, after a run to warm up the JIT.
+ * The cache misses can be counted by running the benchmark under a profiler,
+ * for example {@code perf stat -e cache-misses java Main benchmark 2048}.
+ * </p>
+ */
+public class MazeBenchmark {
+    /** Number of timed runs of each solve, the best one is kept */
+    private static final int RUNS = 3;
+
+    /** Seed of the maze generated */
+    private static final int SEED = 42;
+
+    /** Number of distances asked to the path index */
+    private static final int QUERIES = 100_000;
+
+    /**
+     * Default constructor
+     */
+    public MazeBenchmark() {
+
+    }
+
+    /**
+     * Run the benchmark and print the results in the console, the parallel generators use every core
+     * @param size
+     * The number of rows and columns of the maze
+     */
+    public static void run(int size){
+        run(size, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Run the benchmark and print the results in the console
+     * @param size
+     * The number of rows and columns of the maze
+     * @param parallelism
+     * The number of threads of the parallel generators
+     */
+    public static void run(int size, int parallelism){
+        if (parallelism <= 0) throw new IllegalArgumentException("Parallelism must be positive");
+        System.out.println(String.format("Génération (%d threads)", parallelism));
+        benchmarkGenerators(size, parallelism);
+
+        System.out.println(String.format("Génération d'un labyrinthe de %d x %d...", size, size));
+        MazeModel source = new MazeModel(new ArrayMazeStorage(size, size));
+        KruskalMazeGenerator generator = new KruskalMazeGenerator(source, SEED, MazeType.PERFECT);
+        generator.generateAll();
+
+        System.out.println("Labyrinthe parfait");
+        benchmarkStorages(source);
+        benchmarkPathIndex(source);
+
+        // Remove every inner wall
+        MazeModel open = new MazeModel(new ArrayMazeStorage(size, size));
+        for (int cell = 0; cell < open.getCellCount(); cell++){
+            if (open.getColumn(cell) < size - 1) open.removeWallBetween(cell, cell + 1);
+            if (open.getRow(cell) < size - 1) open.removeWallBetween(cell, cell + size);
+        }
+        System.out.println("Grille sans murs");
+        benchmarkStorages(open);
+    }
+
+    /**
+     * Time the generators on a square maze and print the results
+     * @param size
+     * The number of rows and columns of the maze
+     * @param parallelism
+     * The number of threads of the parallel generators
+     */
+    private static void benchmarkGenerators(int size, int parallelism){
+        benchmarkGenerator("Kruskal", size, maze -> new KruskalMazeGenerator(maze, SEED, MazeType.PERFECT));
+        benchmarkGenerator("Kruskal parallèle", size, maze -> new ParallelKruskalMazeGenerator(maze, SEED, MazeType.PERFECT, parallelism));
+        benchmarkGenerator("Blocs parallèles", size, maze -> new BlockParallelMazeGenerator(maze, SEED, MazeType.PERFECT, parallelism));
+        benchmarkGenerator("Arbre binaire par mots", size, maze -> new PackedBinaryTreeMazeGenerator(maze, SEED, MazeType.PERFECT));
+    }
+
+    /**
+     * Time a generator on a square maze and print the result
+     * @param name
+     * The name of the generator
+     * @param size
+     * The number of rows and columns of the maze
+     * @param generatorFactory
+     * Create the generator on the maze
+     */
+    private static void benchmarkGenerator(String name, int size, Function<MazeModel, IMazeGenerator> generatorFactory){
+        long best = Long.MAX_VALUE;
+        // The first run warms up the JIT and isn't counted
+        for (int run = 0; run <= RUNS; run++){
+            MazeModel maze = new MazeModel(new ArrayMazeStorage(size, size));
+            long start = System.nanoTime();
+            generatorFactory.apply(maze).generateAll();
+            long elapsed = (System.nanoTime() - start) / 1_000_000;
+            if (run > 0) best = Math.min(best, elapsed);
+        }
+        System.out.println(String.format("  %-28s %6d ms", name, best));
+    }
+
+    /**
+     * Time the solvers on a maze copied in each storage and print the results
+     * @param source
+     * The maze to copy
+     */
+    private static void benchmarkStorages(MazeModel source){
+        benchmark("Ligne (ArrayMazeStorage)", copy(source, ArrayMazeStorage::new));
+        benchmark("Blocs (ChunkedMazeStorage)", copy(source, ChunkedMazeStorage::new));
+        benchmark("Morton (MortonMazeStorage)", copy(source, MortonMazeStorage::new));
+    }
+
+    /**
+     * Time the building of the path index of a perfect maze and its queries, then print the results
+     * @param maze
+     * The perfect maze to index
+     */
+    private static void benchmarkPathIndex(MazeModel maze){
+        long start = System.nanoTime();
+        MazePathIndex index = new MazePathIndex(maze);
+        long build = (System.nanoTime() - start) / 1_000_000;
+
+        SplittableRandom random = new SplittableRandom(SEED);
+        int cellCount = maze.getCellCount();
+        start = System.nanoTime();
+        for (int query = 0; query < QUERIES; query++){
+            index.getDistance(random.nextInt(cellCount), random.nextInt(cellCount));
+        }
+        long queries = (System.nanoTime() - start) / 1_000_000;
+        System.out.println(String.format("  %-28s construction : %6d ms   %d distances : %6d ms", "Index des chemins", build, QUERIES, queries));
+    }
+
+    /**
+     * Copy the walls of a maze in a new storage
+     * @param source
+     * The maze to copy
+     * @param storageFactory
+     * Create the storage from the number of rows and columns
+     * @return
+     * A {@code MazeModel} with the same walls as the source
+     */
+    private static MazeModel copy(MazeModel source, BiFunction<Integer, Integer, IMazeStorage> storageFactory){
+        MazeModel maze = new MazeModel(storageFactory.apply(source.numRows, source.numCols));
+        for (int row = 0; row < source.numRows; row++){
+            for (int column = 0; column < source.numCols; column++){
+                maze.setWallMask(row, column, source.getWallMask(row, column));
+            }
+        }
+        return maze;
+    }
+
+    /**
+     * Time the solvers on a maze and print the results
+     * @param name
+     * The name of the storage
+     * @param maze
+     * The maze to solve
+     */
+    private static void benchmark(String name, MazeModel maze){
+        long bfs = time(maze, BreadthFirstSolver::new);
+        long parallelBfs = time(maze, ParallelBreadthFirstSolver::new);
+        long djikstra = time(maze, DjikstraSolver::new);
+        System.out.println(String.format("  %-28s BFS : %6d ms   BFS parallèle : %6d ms   Djikstra : %6d ms", name, bfs, parallelBfs, djikstra));
+    }
+
+    /**
+     * Time a solver on a maze
+     * @param maze
+     * The maze to solve
+     * @param solverFactory
+     * Create the solver on the maze
+     * @return
+     * A {@code long} of the best time of the runs, in milliseconds
+     */
+    private static long time(MazeModel maze, Function<MazeModel, ISolverAlgorithm> solverFactory){
+        long best = Long.MAX_VALUE;
+        // The first run warms up the JIT and isn't counted
+        for (int run = 0; run <= RUNS; run++){
+            long start = System.nanoTime();
+            ISolverAlgorithm solver = solverFactory.apply(maze);
+            while (!solver.isComplete()){
+                solver.step();
+            }
+            long elapsed = (System.nanoTime() - start) / 1_000_000;
+            if (run > 0) best = Math.min(best, elapsed);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,314 @@
+package utils;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import enums.WallDirection;
+import model.MazeModel;
+
+/**
+ * Braiding of a maze: the dead ends are opened to make loops.
+ * <p>
+ * Each dead end is opened with a chance given by the density, by removing one of its walls
+ * chosen at random, so a density of 0 keeps the maze and a density of 1 opens every dead end.
+ * The choices of a tile only depend on the seed and on its cell id, and a row is always chosen
+ * before the rows next to it are changed, so every choice is made on the maze as it was before
+ * the braiding. The maze is then the same whether the rows are braided one by one or in parallel.
+ * </p>
+ * <p>
+ * In parallel, the maze is split in bands of 64 rows. The first and last rows of each band are chosen first,
+ * since the bands next to them can change them, then the even bands are braided, then the odd bands,
+ * so two bands changed at the same time never share a word of the storage.
+ * </p>
+ */
+public class MazeBraider {
+    /** Density used for the imperfect mazes */
+    public static final double DEFAULT_DENSITY = 0.5;
+
+    /** Number of rows of a band */
+    private static final int BAND_SIZE = 64;
+
+    /** Choice of a tile that isn't opened */
+    static final byte NONE = -1;
+
+    /** The directions, indexed by their ordinal */
+    private static final WallDirection[] DIRECTIONS = WallDirection.values();
+
+    // The maze to braid
+    private final MazeModel maze;
+    // The hash of the seed used for the choices
+    private long seedHash;
+    // Chance of a dead end to be opened
+    private final double density;
+    // Next row to braid, for the braiding row by row
+    private int currentRow = 0;
+    // Choices of the next row to braid and of the row after it, for the braiding row by row
+    private byte[] currentChoices;
+    private byte[] nextChoices;
+    // Called with each tile changed by the braiding, null if nobody listens
+    private IntConsumer onTileChanged;
+
+    /**
+     * Construct the braider
+     * @param maze
+     * The maze to braid
+     * @param seed
+     * The seed used for the choices, can re-create a same maze
+     * @param density
+     * The chance of a dead end to be opened, between 0 and 1
+     */
+    public MazeBraider(MazeModel maze, int seed, double density){
+        if (maze == null) throw new IllegalArgumentException("Maze cannot be null");
+        if (!(density >= 0 && density <= 1)) throw new IllegalArgumentException("Density must be between 0 and 1");
+
+        this.maze = maze;
+        this.seedHash = hashSeed(seed);
+        this.density = density;
+    }
+
+    /**
+     * Set the listener called with the cell id of each tile changed, both tiles of a wall removed are given
+     * @param onTileChanged
+     * The listener, {@code null} to remove it. It is called by several threads when braiding in parallel.
+     */
+    void setOnTileChanged(IntConsumer onTileChanged){
+        this.onTileChanged = onTileChanged;
+    }
+
+    /**
+     * Start the braiding again with another seed, for a maze generated again
+     * @param seed
+     * The seed used for the choices
+     */
+    void reset(int seed){
+        seedHash = hashSeed(seed);
+        currentRow = 0;
+    }
+
+    /**
+     * Check if a row has been braided since the braider was made or reset
+     * @return
+     * {@code true} if the braiding has started, {@code false} if not
+     */
+    boolean isStarted(){
+        return currentRow > 0;
+    }
+
+    /**
+     * Check if every row has been braided
+     * @return
+     * {@code true} if the braiding has finished, {@code false} if not
+     */
+    public boolean isComplete(){
+        return currentRow >= maze.numRows;
+    }
+
+    /**
+     * Braid the next row
+     * @return
+     * {@code true} if a row has been braided, {@code false} if the braiding had already finished
+     */
+    public boolean braidNextRow(){
+        if (isComplete()) return false;
+        if (currentRow == 0){
+            // The buffers are kept by a reset
+            if (currentChoices == null){
+                currentChoices = new byte[maze.numCols];
+                nextChoices = new byte[maze.numCols];
+            }
+            chooseRow(0, currentChoices);
+        }
+        // The next row is chosen before this row changes its top walls
+        if (currentRow + 1 < maze.numRows) chooseRow(currentRow + 1, nextChoices);
+        openRow(currentRow, currentChoices);
+
+        byte[] swap = currentChoices;
+        currentChoices = nextChoices;
+        nextChoices = swap;
+        currentRow++;
+        return true;
+    }
+
+    /**
+     * Braid the rows left, on every core
+     */
+    public void braid(){
+        braid(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Braid the rows left
+     * @param parallelism
+     * The number of threads to use, it doesn't change the maze
+     */
+    public void braid(int parallelism){
+        if (parallelism <= 0) throw new IllegalArgumentException("Parallelism must be positive");
+        // Rows already braided one by one are finished one by one, their choices are already made
+        if (currentRow > 0 || parallelism == 1){
+            while (braidNextRow());
+            return;
+        }
+
+        int numCols = maze.numCols;
+        int bandCount = (maze.numRows + BAND_SIZE - 1) / BAND_SIZE;
+        byte[][] firstChoices = new byte[bandCount][numCols];
+        byte[][] lastChoices = new byte[bandCount][numCols];
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            // The rows at the edges of the bands are changed by the bands next to them, they are chosen first
+            pool.submit(() -> IntStream.range(0, bandCount).parallel().forEach(band -> {
+                chooseRow(band * BAND_SIZE, firstChoices[band]);
+                chooseRow(getBandEnd(band) - 1, lastChoices[band]);
+            })).join();
+            for (int parity = 0; parity < 2; parity++){
+                int first = parity;
+                pool.submit(() -> IntStream.range(0, (bandCount - first + 1) / 2).parallel()
+                    .forEach(index -> braidBand(first + 2 * index, firstChoices[first + 2 * index], lastChoices[first + 2 * index]))).join();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        currentRow = maze.numRows;
+    }
+
+    /**
+     * Get the row after the last row of a band
+     * @param band
+     * The band
+     * @return
+     * A {@code int} of the row after the band
+     */
+    private int getBandEnd(int band){
+        return Math.min(maze.numRows, (band + 1) * BAND_SIZE);
+    }
+
+    /**
+     * Braid the rows of a band
+     * @param band
+     * The band
+     * @param firstChoices
+     * The choices of the first row of the band
+     * @param lastChoices
+     * The choices of the last row of the band
+     */
+    private void braidBand(int band, byte[] firstChoices, byte[] lastChoices){
+        int end = getBandEnd(band);
+        byte[] current = firstChoices;
+        byte[] buffer = new byte[maze.numCols];
+        byte[] spare = new byte[maze.numCols];
+        for (int row = band * BAND_SIZE; row < end; row++){
+            byte[] next = null;
+            if (row + 1 == end - 1) next = lastChoices;
+            else if (row + 1 < end) {
+                next = current == buffer ? spare : buffer;
+                chooseRow(row + 1, next);
+            }
+            openRow(row, current);
+            current = next;
+        }
+    }
+
+    /**
+     * Choose which dead ends of a row are opened, and in which direction
+     * @param row
+     * The row
+     * @param choices
+     * Receive the ordinal of the direction opened for each tile, {@code NONE} if it isn't opened
+     */
+    private void chooseRow(int row, byte[] choices){
+        int numRows = maze.numRows;
+        int numCols = maze.numCols;
+        for (int column = 0; column < numCols; column++){
+            int cell = row * numCols + column;
+            choices[column] = choose(seedHash, density, cell, maze.getOpenDirections(cell), getInnerDirections(row, column, numRows, numCols));
+        }
+    }
+
+    /**
+     * Hash a seed for the choices of the braiding
+     * @param seed
+     * The seed
+     * @return
+     * A {@code long} of the hash, the same for the braiders of a same seed
+     */
+    static long hashSeed(int seed){
+        return GenerationHelpers.mix(~(long) seed);
+    }
+
+    /**
+     * Choose if a tile is opened, and in which direction, only from the seed and the cell id
+     * @param seedHash
+     * The hash of the seed, from {@code hashSeed}
+     * @param density
+     * The chance of a dead end to be opened
+     * @param cell
+     * The cell id of the tile, as a {@code long} for the mazes streamed with more tiles than a {@code int}
+     * @param open
+     * The directions of the tile without a wall, the bit {@code 1 << direction.ordinal()} is set for each
+     * @param inner
+     * The directions of the tile having a neighbor inside the maze
+     * @return
+     * A {@code byte} of the ordinal of the direction opened, {@code NONE} if the tile isn't opened
+     */
+    static byte choose(long seedHash, double density, long cell, int open, int inner){
+        if (Integer.bitCount(open) != 1) return NONE;
+
+        long hash = GenerationHelpers.mix(seedHash + cell);
+        // The 53 highest bits give the chance, like Random.nextDouble
+        if ((hash >>> 11) * 0x1.0p-53 >= density) return NONE;
+
+        int closed = inner & ~open;
+        int count = Integer.bitCount(closed);
+        if (count == 0) return NONE;
+        // The lowest bits choose one of the closed directions
+        int pick = (int) (((hash & 0xFFFFFFFFL) * count) >>> 32);
+        for (int direction = 0; direction < DIRECTIONS.length; direction++){
+            if ((closed & (1 << direction)) != 0 && pick-- == 0) return (byte) direction;
+        }
+        return NONE;
+    }
+
+    /**
+     * Get the directions of a tile having a neighbor inside the maze
+     * @param row
+     * The row of the tile
+     * @param column
+     * The column of the tile
+     * @param numRows
+     * The number of rows of the maze
+     * @param numCols
+     * The number of columns of the maze
+     * @return
+     * A {@code int} where the bit {@code 1 << direction.ordinal()} is set for each direction
+     */
+    static int getInnerDirections(int row, int column, int numRows, int numCols){
+        int mask = 0;
+        if (row > 0) mask |= 1 << WallDirection.TOP.ordinal();
+        if (column < numCols - 1) mask |= 1 << WallDirection.RIGHT.ordinal();
+        if (row < numRows - 1) mask |= 1 << WallDirection.BOTTOM.ordinal();
+        if (column > 0) mask |= 1 << WallDirection.LEFT.ordinal();
+        return mask;
+    }
+
+    /**
+     * Remove the walls chosen for a row
+     * @param row
+     * The row
+     * @param choices
+     * The direction opened for each tile, {@code NONE} if it isn't opened
+     */
+    private void openRow(int row, byte[] choices){
+        int numCols = maze.numCols;
+        for (int column = 0; column < numCols; column++){
+            if (choices[column] == NONE) continue;
+            int cell = row * numCols + column;
+            WallDirection direction = DIRECTIONS[choices[column]];
+            maze.setWall(cell, direction, false);
+            if (onTileChanged != null){
+                onTileChanged.accept(cell);
+                onTileChanged.accept(maze.getNeighborCell(cell, direction));
+            }
+        }
+    }
+}
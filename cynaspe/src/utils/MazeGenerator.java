@@ -0,0 +1,399 @@
+package utils;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+
+import enums.GenerationAlgorithms;
+import enums.MazeType;
+import model.MazeModel;
+
+/**
+ * Abstract base class for maze generator algorithms.
+ * <p>
+ * The generators first carve a spanning tree of the tiles, one step at a time, which is a perfect maze.
+ * For an imperfect maze, the maze is then braided by a {@code MazeBraider} with the seed,
+ * a row at each step, to make loops.
+ * The tiles are handled by their cell id, the tiles visited are kept by the generator so the maze only holds the walls.
+ * </p>
+ */
+public abstract class MazeGenerator implements IMazeGenerator {
+    /**
+     * Construct the generator on a maze
+     * @param maze
+     * The grid of tiles to generate the maze on
+     * @param seed
+     * The seed used for the generation, can re-create a same maze
+     * @param mazeType
+     * The type of maze (PERFECT or IMPERFECT)
+     */
+    public MazeGenerator(MazeModel maze, int seed, MazeType mazeType){
+        // Check if the maze is correct
+        if (maze == null) throw new IllegalArgumentException("Maze cannot be null");
+
+        this.maze = maze;
+        this.mazeType = mazeType;
+        this.seed = seed;
+        this.random = new Random(seed);
+        this.visited = new BitSet(maze.getCellCount());
+    }
+
+    /**
+     * The maze to generate.
+     */
+    protected final MazeModel maze;
+
+    /**
+     * The type of maze to generate.
+     */
+    protected final MazeType mazeType;
+
+    /**
+     * The seed used for the generation.
+     */
+    protected int seed;
+
+    /**
+     * Random generator, seeded to re-create a same maze.
+     */
+    protected final Random random;
+
+    /**
+     * Tiles visited by the generation.
+     */
+    protected final BitSet visited;
+
+    /**
+     * Number of tiles visited.
+     */
+    protected int visitedCount = 0;
+
+    /**
+     * Chance of a dead end to be opened for an imperfect maze.
+     */
+    private double loopDensity = MazeBraider.DEFAULT_DENSITY;
+
+    /**
+     * Braider making the loops of an imperfect maze, {@code null} until the spanning tree is complete.
+     */
+    private MazeBraider braider;
+
+    /**
+     * Tiles changed by the current call of {@code step}, in the first changedCount entries.
+     */
+    private int[] changedCells = new int[16];
+
+    /**
+     * Number of tiles changed by the current call of {@code step}.
+     */
+    private int changedCount = 0;
+
+    /**
+     * {@code true} once the spanning tree has been started by {@code resetTree}, it is started
+     * by the first step rather than by the constructor, where the subclass isn't built yet.
+     */
+    private boolean started = false;
+
+    /**
+     * {@code true} while {@code step} runs, the changes aren't recorded by {@code generateAll}.
+     */
+    private boolean recording = false;
+
+    /**
+     * Move the spanning tree one step forward, it is only called while it isn't complete
+     */
+    protected abstract void stepTree();
+
+    /**
+     * Put the spanning tree back to its start, reusing the buffers. Called before the first step,
+     * once the maze, the random generator and the visited tiles are ready
+     */
+    protected abstract void resetTree();
+
+    /**
+     * Check if the spanning tree has been completed
+     * @return
+     * {@code true} if every tile is connected, {@code false} if not
+     */
+    protected abstract boolean isTreeComplete();
+
+    /**
+     * Move one step forward the algorithm
+     * @return
+     * A boolean that say if a step has been done or if the algorithm had already finished
+     */
+    @Override
+    public boolean step(){
+        return step(1) == 1;
+    }
+
+    /**
+     * Move several steps forward the algorithm, recording the tiles changed
+     * @param budget
+     * The largest number of steps to do
+     * @return
+     * A {@code int} of the number of steps done, lower than the budget if the algorithm has finished
+     */
+    @Override
+    public int step(int budget){
+        if (budget < 0) throw new IllegalArgumentException("Budget cannot be negative");
+        changedCount = 0;
+        recording = true;
+        int done = 0;
+        try {
+            start();
+            // If it complete, there isn't any more steps
+            for (; done < budget && !isComplete(); done++){
+                if (!isTreeComplete()) stepTree();
+                else getBraider().braidNextRow();
+            }
+        } finally {
+            recording = false;
+        }
+        return done;
+    }
+
+    /**
+     * Get the tiles changed by the last call of {@code step}, their walls or their visited state
+     * @return
+     * A {@code int[]} of the cell ids, sorted and without duplicates
+     */
+    @Override
+    public int[] getChangedCells(){
+        int[] cells = Arrays.copyOf(changedCells, changedCount);
+        Arrays.sort(cells);
+        int count = 0;
+        for (int i = 0; i < cells.length; i++){
+            if (count == 0 || cells[count - 1] != cells[i]) cells[count++] = cells[i];
+        }
+        return Arrays.copyOf(cells, count);
+    }
+
+    /**
+     * Start the generation again with another seed, on the same maze, without allocating
+     * @param seed
+     * The seed of the new maze
+     */
+    @Override
+    public void reset(int seed){
+        maze.reset();
+        this.seed = seed;
+        random.setSeed(seed);
+        visited.clear();
+        visitedCount = 0;
+        changedCount = 0;
+        if (braider != null) braider.reset(seed);
+        started = false;
+    }
+
+    /**
+     * Check if the algorithm has been completed
+     * @return
+     * {@code true} if the algorithm has finished, {@code false} if not
+     */
+    @Override
+    public boolean isComplete(){
+        if (!started || !isTreeComplete()) return false;
+        return mazeType != MazeType.IMPERFECT || (braider != null && braider.isComplete());
+    }
+
+    /**
+     * Run the algorithm until it has finished
+     */
+    @Override
+    public void generateAll(){
+        start();
+        while (!isTreeComplete()){
+            stepTree();
+        }
+        if (mazeType == MazeType.IMPERFECT) getBraider().braid();
+    }
+
+    /**
+     * Start the spanning tree if it hasn't been started yet
+     */
+    private void start(){
+        if (started) return;
+        started = true;
+        resetTree();
+    }
+
+    /**
+     * Set the chance of a dead end to be opened for an imperfect maze, before the braiding starts
+     * @param loopDensity
+     * The chance, between 0 and 1
+     */
+    @Override
+    public void setLoopDensity(double loopDensity){
+        if (!(loopDensity >= 0 && loopDensity <= 1)) throw new IllegalArgumentException("Density must be between 0 and 1");
+        if (braider != null && braider.isStarted()) throw new IllegalStateException("The braiding has already started");
+        // A braider kept by a reset is made again with the new density
+        if (loopDensity != this.loopDensity) braider = null;
+        this.loopDensity = loopDensity;
+    }
+
+    /**
+     * Get the braider of the maze, created the first time
+     * @return
+     * The {@code MazeBraider} making the loops
+     */
+    private MazeBraider getBraider(){
+        if (braider == null) {
+            braider = new MazeBraider(maze, seed, loopDensity);
+            braider.setOnTileChanged(this::recordChange);
+        }
+        return braider;
+    }
+
+    /**
+     * Check if a tile has been visited by the generation
+     * @param cell
+     * The cell id of the tile
+     * @return
+     * {@code true} if it has been visited, {@code false} if not
+     */
+    @Override
+    public boolean isVisited(int cell){
+        return visited.get(cell);
+    }
+
+    /**
+     * Mark a tile as visited
+     * @param cell
+     * The cell id of the tile
+     */
+    protected void markVisited(int cell){
+        if (!visited.get(cell)){
+            visited.set(cell);
+            visitedCount++;
+            recordChange(cell);
+        }
+    }
+
+    /**
+     * Remove the wall between two adjacent tiles
+     * @param cell1
+     * The first cell
+     * @param cell2
+     * The second cell, next to the first one
+     */
+    protected void removeWallBetween(int cell1, int cell2){
+        maze.removeWallBetween(cell1, cell2);
+        recordChange(cell1);
+        recordChange(cell2);
+    }
+
+    /**
+     * Record a tile changed by the current call of {@code step}
+     * @param cell
+     * The cell id of the tile
+     */
+    private void recordChange(int cell){
+        if (!recording) return;
+        if (changedCount == changedCells.length) changedCells = Arrays.copyOf(changedCells, changedCount * 2);
+        changedCells[changedCount++] = cell;
+    }
+
+    /**
+     * Put the neighbors of a tile inside the maze in an array
+     * @param cell
+     * The cell id of the tile
+     * @param neighbors
+     * The array receiving the neighbors, of length 4 at least
+     * @return
+     * A {@code int} of the number of neighbors put in the array
+     */
+    protected int getNeighbors(int cell, int[] neighbors){
+        int numCols = maze.numCols;
+        int count = 0;
+        if (cell >= numCols) neighbors[count++] = cell - numCols;
+        if (cell < maze.getCellCount() - numCols) neighbors[count++] = cell + numCols;
+        if (cell % numCols != 0) neighbors[count++] = cell - 1;
+        if ((cell + 1) % numCols != 0) neighbors[count++] = cell + 1;
+        return count;
+    }
+
+    /**
+     * Keep the neighbors of a tile that are visited or not
+     * @param cell
+     * The cell id of the tile
+     * @param neighbors
+     * The array receiving the neighbors, of length 4 at least
+     * @param isVisited
+     * {@code true} to keep the visited neighbors, {@code false} to keep the others
+     * @return
+     * A {@code int} of the number of neighbors put in the array
+     */
+    protected int getNeighbors(int cell, int[] neighbors, boolean isVisited){
+        int count = getNeighbors(cell, neighbors);
+        int kept = 0;
+        for (int i = 0; i < count; i++){
+            if (visited.get(neighbors[i]) == isVisited) neighbors[kept++] = neighbors[i];
+        }
+        return kept;
+    }
+
+    /**
+     * Get the bits a generator allocates on the heap per tile, besides the maze.
+     * The mapped storage only moves the walls out of the heap, these structures stay on it
+     * @param algorithm
+     * The algorithm of the generator
+     * @return
+     * A {@code int} of the number of bits per tile, rounded up
+     */
+    public static int getHeapBitsPerCell(GenerationAlgorithms algorithm){
+        switch (algorithm) {
+            // The shuffled edges, 2 per tile, the disjoint-set and the visited tiles
+            case KRUSKAL:     return 2 * Integer.SIZE + Integer.SIZE + 1;
+            // The frontier or the stack of tiles, and the visited tiles
+            case PRIM:        return Integer.SIZE + 1;
+            case BACKTRACKER: return Integer.SIZE + 1;
+            // The direction of the walk out of each tile, and the visited tiles
+            case WILSON:      return Byte.SIZE + 1;
+            // Only the visited tiles
+            case BINARY_TREE: return 1;
+            case SIDEWINDER:  return 1;
+            // The disjoint-set and the visited tiles, the edges are computed on the fly
+            case KRUSKAL_IMPLICIT: return Integer.SIZE + 1;
+            // The sorted edges and the disjoint-set
+            case PARALLEL_KRUSKAL: return 2 * Integer.SIZE + Integer.SIZE;
+            // Only a block or a row at a time
+            case BLOCK_PARALLEL:   return 0;
+            case PACKED_BINARY_TREE: return 0;
+            default: throw new IllegalArgumentException("Unknown algorithm: " + algorithm);
+        }
+    }
+
+    /**
+     * Create a generator
+     * @param algorithm
+     * The algorithm of the generator
+     * @param maze
+     * The grid of tiles to generate the maze on
+     * @param seed
+     * The seed used for the generation, can re-create a same maze
+     * @param mazeType
+     * The type of maze (PERFECT or IMPERFECT)
+     * @return
+     * The {@code IMazeGenerator} of the algorithm
+     * @throws IllegalArgumentException
+     * if the structures of the algorithm can't fit in the heap for this maze
+     */
+    public static IMazeGenerator create(GenerationAlgorithms algorithm, MazeModel maze, int seed, MazeType mazeType){
+        if (maze == null) throw new IllegalArgumentException("Maze cannot be null");
+        maze.checkHeapFootprint(getHeapBitsPerCell(algorithm));
+        switch (algorithm) {
+            case KRUSKAL:     return new KruskalMazeGenerator(maze, seed, mazeType);
+            case PRIM:        return new PrimMazeGenerator(maze, seed, mazeType);
+            case BACKTRACKER: return new BacktrackerMazeGenerator(maze, seed, mazeType);
+            case WILSON:      return new WilsonMazeGenerator(maze, seed, mazeType);
+            case BINARY_TREE: return new BinaryTreeMazeGenerator(maze, seed, mazeType);
+            case SIDEWINDER:  return new SidewinderMazeGenerator(maze, seed, mazeType);
+            case KRUSKAL_IMPLICIT: return new KruskalMazeGenerator(maze, seed, mazeType, true);
+            case PARALLEL_KRUSKAL: return new ParallelKruskalMazeGenerator(maze, seed, mazeType);
+            case BLOCK_PARALLEL:   return new BlockParallelMazeGenerator(maze, seed, mazeType);
+            case PACKED_BINARY_TREE: return new PackedBinaryTreeMazeGenerator(maze, seed, mazeType);
+            default: throw new IllegalArgumentException("Unknown algorithm: " + algorithm);
+        }
+    }
+}
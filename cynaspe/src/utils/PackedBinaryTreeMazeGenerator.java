@@ -0,0 +1,96 @@
+package utils;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import enums.MazeType;
+import model.IMazeStorage;
+import model.MazeModel;
+
+/**
+ * Maze generator using the binary tree algorithm on 64 tiles at a time.
+ * <p>
+ * Like {@code BinaryTreeMazeGenerator}, each tile is connected to its top or its left neighbor,
+ * but the choices of 64 tiles are the bits of a single random {@code long}, and the walls of a row
+ * are computed with operations on whole words:
+ * </p>
+ * <pre>
+ * up           random bits, the first column always goes up, the first row never does
+ * left         the tiles not going up, except the first column
+ * right walls  not (left shifted by one column), a tile has no right wall if the next tile goes left
+ * bottom walls not up of the row below
+ * </pre>
+ * <p>
+ * The rows are written with {@code IMazeStorage.setRowWalls}, one word at a time on the storages keeping
+ * the rows packed, one tile at a time on the others. It is the fastest way to fill a large maze,
+ * to solve it in a benchmark for example, but the mazes lean to the top left.
+ * An imperfect maze is then braided by a {@code MazeBraider}, like the other generators.
+ * </p>
+ */
+public class PackedBinaryTreeMazeGenerator extends BulkMazeGenerator {
+    /**
+     * Constructor to initialize the generator
+     * @param maze
+     * The grid of tiles to generate the maze on
+     * @param seed
+     * The seed used for the generation, can re-create a same maze
+     * @param mazeType
+     * The type of maze (PERFECT or IMPERFECT)
+     */
+    public PackedBinaryTreeMazeGenerator(MazeModel maze, int seed, MazeType mazeType){
+        super(maze, seed, mazeType);
+    }
+
+    /**
+     * Generate the whole maze, then braid it for an imperfect maze
+     */
+    @Override
+    protected void carve(){
+        // Random generator, seeded to re-create a same maze
+        SplittableRandom random = new SplittableRandom(GenerationHelpers.mix(seed));
+        IMazeStorage storage = maze.getStorage();
+        int numRows = maze.numRows;
+        int numCols = maze.numCols;
+        int words = (numCols + 63) >>> 6;
+        // Bits of the columns inside the maze in the last word
+        long lastMask = (numCols & 63) == 0 ? -1L : (1L << numCols) - 1;
+
+        long[] up = new long[words];
+        long[] left = new long[words];
+        long[] rightWalls = new long[words];
+        long[] previousRightWalls = new long[words];
+        long[] bottomWalls = new long[words];
+
+        for (int row = 0; row < numRows; row++){
+            // Choose the direction of each tile of the row
+            for (int word = 0; word < words; word++){
+                long mask = word == words - 1 ? lastMask : -1L;
+                long bits = row == 0 ? 0L : random.nextLong() | (word == 0 ? 1L : 0L);
+                up[word] = bits & mask;
+                left[word] = ~bits & mask & (word == 0 ? ~1L : -1L);
+            }
+
+            // A tile has a right wall unless the next tile goes left
+            for (int word = 0; word < words; word++){
+                long nextLeft = (left[word] >>> 1) | (word + 1 < words ? left[word + 1] << 63 : 0L);
+                rightWalls[word] = ~nextLeft;
+            }
+
+            // The previous row is finished, its bottom walls are where this row doesn't go up
+            if (row > 0){
+                for (int word = 0; word < words; word++){
+                    bottomWalls[word] = ~up[word];
+                }
+                storage.setRowWalls(row - 1, previousRightWalls, bottomWalls);
+            }
+            long[] swap = previousRightWalls;
+            previousRightWalls = rightWalls;
+            rightWalls = swap;
+        }
+
+        // The last row has every bottom wall, it's the border
+        Arrays.fill(bottomWalls, -1L);
+        storage.setRowWalls(numRows - 1, previousRightWalls, bottomWalls);
+        if (mazeType == MazeType.IMPERFECT) new MazeBraider(maze, seed, loopDensity).braid();
+    }
+}
@@ -0,0 +1,250 @@
+package utils;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import enums.MazeType;
+import model.MazeModel;
+
+/**
+ * Maze generator using Kruskal's algorithm on several cores (Filter-Kruskal).
+ * <p>
+ * The edges are shuffled in parallel: each edge is sent to a bucket chosen by a hash of the seed
+ * and of the edge, then each bucket is shuffled with its own random generator. The buckets are
+ * small enough to stay in the cache, where a shuffle of the whole array jumps across the memory on each swap.
+ * </p>
+ * <p>
+ * The edges are then taken in order by blocks: the unions of a block are done on one thread,
+ * then the edges left are filtered in parallel to drop the ones whose tiles are already connected,
+ * so the next blocks are smaller. The filter only reads the disjoint set, the unions are never
+ * done at the same time as the filter.
+ * </p>
+ * <p>
+ * A perfect maze is the only spanning tree that takes the edges in the order of the shuffle,
+ * and the shuffle only depends on the seed, so the maze is the same whatever the number of threads.
+ * It isn't the same maze as {@code KruskalMazeGenerator} with the same seed, the shuffle is different.
+ * </p>
+ */
+public class ParallelKruskalMazeGenerator extends BulkMazeGenerator {
+    /** Number of edges handled by a task of the parallel passes */
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    /** Number of edges in a bucket of the shuffle, on average */
+    private static final int BUCKET_SIZE = 1 << 16;
+
+    /** Largest number of chunks counting the edges of each bucket, it bounds the memory of the counts */
+    private static final int MAX_COUNT_CHUNKS = 1024;
+
+    // The number of threads used
+    private final int parallelism;
+    // The pool running the parallel passes, only set during the generation
+    private ForkJoinPool pool;
+
+    /**
+     * Constructor to initialize the generator, using every core
+     * @param maze
+     * The grid of tiles to generate the maze on
+     * @param seed
+     * The seed used for the generation, can re-create a same maze
+     * @param mazeType
+     * The type of maze (PERFECT or IMPERFECT)
+     */
+    public ParallelKruskalMazeGenerator(MazeModel maze, int seed, MazeType mazeType){
+        this(maze, seed, mazeType, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor to initialize the generator
+     * @param maze
+     * The grid of tiles to generate the maze on
+     * @param seed
+     * The seed used for the generation, can re-create a same maze
+     * @param mazeType
+     * The type of maze (PERFECT or IMPERFECT)
+     * @param parallelism
+     * The number of threads to use, it doesn't change the maze generated
+     */
+    public ParallelKruskalMazeGenerator(MazeModel maze, int seed, MazeType mazeType, int parallelism){
+        super(maze, seed, mazeType);
+        if (maze.getCellCount() > GenerationHelpers.MAX_CELLS) throw new IllegalArgumentException("Maze cannot have more than " + GenerationHelpers.MAX_CELLS + " tiles");
+        if (parallelism <= 0) throw new IllegalArgumentException("Parallelism must be positive");
+
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Generate the whole maze, then braid it for an imperfect maze
+     */
+    @Override
+    protected void carve(){
+        pool = new ForkJoinPool(parallelism);
+        try {
+            int[] edges = shuffleEdges();
+            connect(edges);
+        } finally {
+            pool.shutdown();
+            pool = null;
+        }
+        if (mazeType == MazeType.IMPERFECT) new MazeBraider(maze, seed, loopDensity).braid(parallelism);
+    }
+
+    /**
+     * Run a loop in parallel on the pool
+     * @param count
+     * The number of iterations
+     * @param body
+     * The body of the loop, called with the index of the iteration
+     */
+    private void parallelFor(int count, IntConsumer body){
+        pool.submit(() -> IntStream.range(0, count).parallel().forEach(body)).join();
+    }
+
+    /**
+     * Create the packed edges of the maze in a random order given by the seed
+     * @return
+     * A {@code int[]} of the shuffled packed edges
+     */
+    private int[] shuffleEdges(){
+        int numRows = maze.numRows;
+        int numCols = maze.numCols;
+        int edgeCount = GenerationHelpers.getEdgeCount(numRows, numCols);
+
+        int[] edges = new int[edgeCount];
+        // A chunk counts its edges for each bucket, so large mazes use larger chunks
+        int chunkSize = Math.max(CHUNK_SIZE, (int) ((edgeCount + MAX_COUNT_CHUNKS - 1L) / MAX_COUNT_CHUNKS));
+        int chunkCount = (edgeCount + chunkSize - 1) / chunkSize;
+        int bucketCount = Math.max(1, edgeCount / BUCKET_SIZE);
+        long seedHash = GenerationHelpers.mix(seed);
+
+        // Count the edges of each chunk going in each bucket
+        int[] positions = new int[chunkCount * bucketCount];
+        parallelFor(chunkCount, chunk -> {
+            int end = (int) Math.min(edgeCount, (chunk + 1L) * chunkSize);
+            for (int index = chunk * chunkSize; index < end; index++){
+                positions[chunk * bucketCount + bucketOf(seedHash, index, bucketCount)]++;
+            }
+        });
+
+        // The buckets are one after the other, and in a bucket the edges of the chunks are in the order of the chunks
+        int[] bucketStarts = new int[bucketCount + 1];
+        int position = 0;
+        for (int bucket = 0; bucket < bucketCount; bucket++){
+            bucketStarts[bucket] = position;
+            for (int chunk = 0; chunk < chunkCount; chunk++){
+                int size = positions[chunk * bucketCount + bucket];
+                positions[chunk * bucketCount + bucket] = position;
+                position += size;
+            }
+        }
+        bucketStarts[bucketCount] = position;
+
+        // Put the edges in their bucket, each chunk writes in its own part of each bucket
+        parallelFor(chunkCount, chunk -> {
+            int end = (int) Math.min(edgeCount, (chunk + 1L) * chunkSize);
+            for (int index = chunk * chunkSize; index < end; index++){
+                edges[positions[chunk * bucketCount + bucketOf(seedHash, index, bucketCount)]++] = GenerationHelpers.edgeAt(index, numRows, numCols);
+            }
+        });
+
+        // Shuffle each bucket with its own random generator
+        parallelFor(bucketCount, bucket -> {
+            SplittableRandom random = new SplittableRandom(GenerationHelpers.mix(seedHash + bucket));
+            int start = bucketStarts[bucket];
+            for (int i = bucketStarts[bucket + 1] - start; i > 1; i--){
+                int j = start + random.nextInt(i);
+                int swap = edges[start + i - 1];
+                edges[start + i - 1] = edges[j];
+                edges[j] = swap;
+            }
+        });
+        return edges;
+    }
+
+    /**
+     * Get the bucket of an edge for the shuffle
+     * @param seedHash
+     * The hash of the seed
+     * @param index
+     * The index of the edge
+     * @param bucketCount
+     * The number of buckets
+     * @return
+     * A {@code int} of the bucket, between 0 and {@code bucketCount - 1}
+     */
+    private static int bucketOf(long seedHash, int index, int bucketCount){
+        return (int) (((GenerationHelpers.mix(seedHash + index) >>> 32) * bucketCount) >>> 32);
+    }
+
+    /**
+     * Remove the walls of the spanning tree, taking the edges in their order
+     * @param edges
+     * The shuffled packed edges, they are reordered by the filter
+     */
+    private void connect(int[] edges){
+        int numCols = maze.numCols;
+        DisjointSet disjointSet = new DisjointSet(maze.getCellCount());
+        int setCount = maze.getCellCount();
+        int position = 0;
+        int end = edges.length;
+
+        while (position < end && setCount > 1){
+            // Half of the edges left are handled on this thread, the other half is filtered in parallel
+            int blockEnd = position + Math.max(CHUNK_SIZE, (end - position) / 2);
+            if (blockEnd > end) blockEnd = end;
+            for (; position < blockEnd && setCount > 1; position++){
+                int edge = edges[position];
+                int cell1 = edge >>> 1;
+                int cell2 = (edge & GenerationHelpers.BOTTOM_EDGE) != 0 ? cell1 + numCols : cell1 + 1;
+                if (disjointSet.union(cell1, cell2)){
+                    setCount--;
+                    maze.removeWallBetween(cell1, cell2);
+                }
+            }
+            if (position < end && setCount > 1) end = filter(edges, position, end, disjointSet);
+        }
+    }
+
+    /**
+     * Drop the edges whose tiles are already connected, keeping the order of the others
+     * @param edges
+     * The packed edges
+     * @param from
+     * The index of the first edge to filter
+     * @param to
+     * The index after the last edge to filter
+     * @param disjointSet
+     * The disjoint set of the tiles connected, only read
+     * @return
+     * A {@code int} of the index after the last edge kept
+     */
+    private int filter(int[] edges, int from, int to, DisjointSet disjointSet){
+        int numCols = maze.numCols;
+        int chunkCount = (to - from + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        int[] kept = new int[chunkCount];
+
+        // Each chunk moves the edges it keeps at its start.
+        // find only shortens the paths to a root, so the finds running together see valid parents
+        parallelFor(chunkCount, chunk -> {
+            int start = from + chunk * CHUNK_SIZE;
+            int end = Math.min(to, start + CHUNK_SIZE);
+            int write = start;
+            for (int i = start; i < end; i++){
+                int edge = edges[i];
+                int cell1 = edge >>> 1;
+                int cell2 = (edge & GenerationHelpers.BOTTOM_EDGE) != 0 ? cell1 + numCols : cell1 + 1;
+                if (!disjointSet.connected(cell1, cell2)) edges[write++] = edge;
+            }
+            kept[chunk] = write - start;
+        });
+
+        // Put the chunks back together, in order
+        int write = from;
+        for (int chunk = 0; chunk < chunkCount; chunk++){
+            System.arraycopy(edges, from + chunk * CHUNK_SIZE, edges, write, kept[chunk]);
+            write += kept[chunk];
+        }
+        return write;
+    }
+}
@@ -0,0 +1,101 @@
+package utils;
+
+import enums.MazeType;
+import model.MazeModel;
+
+/**
+ * Maze generator using Prim's algorithm.
+ * <p>
+ * The maze grows from a random tile: at each step a random tile of the frontier,
+ * the tiles next to the maze, is connected to a random visited neighbor.
+ * The frontier is a {@code int[]} where a tile is removed by moving the last one in its place,
+ * the memory is a {@code int} per tile. The mazes have many short dead ends.
+ * </p>
+ */
+public class PrimMazeGenerator extends MazeGenerator {
+    // Tiles next to the maze and not visited yet, in the first frontierSize entries
+    private final int[] frontier;
+    // Number of tiles in the frontier
+    private int frontierSize = 0;
+    // Neighbors of a tile, reused at each step
+    private final int[] neighbors = new int[4];
+
+    /**
+     * Constructor to initialize the generator
+     * @param maze
+     * The grid of tiles to generate the maze on
+     * @param seed
+     * The seed used for the generation, can re-create a same maze
+     * @param mazeType
+     * The type of maze (PERFECT or IMPERFECT)
+     */
+    public PrimMazeGenerator(MazeModel maze, int seed, MazeType mazeType){
+        super(maze, seed, mazeType);
+        frontier = new int[maze.getCellCount()];
+    }
+
+    /**
+     * Connect a random tile of the frontier to the maze
+     */
+    @Override
+    protected void stepTree(){
+        int index = random.nextInt(frontierSize);
+        int cell = frontier[index];
+        frontier[index] = frontier[--frontierSize];
+
+        int count = getNeighbors(cell, neighbors, true);
+        removeWallBetween(cell, neighbors[random.nextInt(count)]);
+        visit(cell);
+    }
+
+    /**
+     * Visit a tile and add its neighbors not visited to the frontier
+     * @param cell
+     * The cell id of the tile
+     */
+    private void visit(int cell){
+        markVisited(cell);
+        int count = getNeighbors(cell, neighbors, false);
+        for (int i = 0; i < count; i++){
+            // A tile is in the frontier once it has a visited neighbor, the first one adds it
+            if (!isInFrontier(neighbors[i], cell)) frontier[frontierSize++] = neighbors[i];
+        }
+    }
+
+    /**
+     * Check if a tile not visited is already in the frontier, that is if it had a visited neighbor
+     * before a tile was visited
+     * @param cell
+     * The cell id of the tile not visited
+     * @param visitedCell
+     * The tile just visited, next to the cell
+     * @return
+     * {@code true} if it is in the frontier, {@code false} if not
+     */
+    private boolean isInFrontier(int cell, int visitedCell){
+        int numCols = maze.numCols;
+        if (cell >= numCols && cell - numCols != visitedCell && visited.get(cell - numCols)) return true;
+        if (cell < maze.getCellCount() - numCols && cell + numCols != visitedCell && visited.get(cell + numCols)) return true;
+        if (cell % numCols != 0 && cell - 1 != visitedCell && visited.get(cell - 1)) return true;
+        return (cell + 1) % numCols != 0 && cell + 1 != visitedCell && visited.get(cell + 1);
+    }
+
+    /**
+     * Empty the frontier and start again from a random tile
+     */
+    @Override
+    protected void resetTree(){
+        frontierSize = 0;
+        visit(random.nextInt(maze.getCellCount()));
+    }
+
+    /**
+     * Check if every tile is in the maze
+     * @return
+     * {@code true} if the frontier is empty, {@code false} if not
+     */
+    @Override
+    protected boolean isTreeComplete(){
+        return frontierSize == 0;
+    }
+}
@@ -0,0 +1,78 @@
+package utils;
+
+import enums.MazeType;
+import model.MazeModel;
+
+/**
+ * Maze generator using the sidewinder algorithm.
+ * <p>
+ * The first row is a single corridor. On the other rows, the tiles are joined to the right
+ * in runs of random length, and each run is connected to the row above by one of its tiles.
+ * Only the start of the current run is kept, and the rows could be made in parallel.
+ * The mazes have a corridor along the top row and lean to the top.
+ * </p>
+ */
+public class SidewinderMazeGenerator extends MazeGenerator {
+    // Next tile to connect
+    private int currentCell = 0;
+    // Column of the first tile of the current run
+    private int runStart = 0;
+
+    /**
+     * Constructor to initialize the generator
+     * @param maze
+     * The grid of tiles to generate the maze on
+     * @param seed
+     * The seed used for the generation, can re-create a same maze
+     * @param mazeType
+     * The type of maze (PERFECT or IMPERFECT)
+     */
+    public SidewinderMazeGenerator(MazeModel maze, int seed, MazeType mazeType){
+        super(maze, seed, mazeType);
+    }
+
+    /**
+     * Join the next tile to the right, or end its run and connect the run to the row above
+     */
+    @Override
+    protected void stepTree(){
+        int numCols = maze.numCols;
+        int cell = currentCell++;
+        int row = cell / numCols;
+        int column = cell % numCols;
+        boolean lastColumn = column == numCols - 1;
+        markVisited(cell);
+
+        if (row == 0){
+            if (!lastColumn) removeWallBetween(cell, cell + 1);
+            return;
+        }
+        if (lastColumn || random.nextBoolean()){
+            // End the run, one of its tiles goes up
+            int up = row * numCols + runStart + random.nextInt(column - runStart + 1);
+            removeWallBetween(up, up - numCols);
+            runStart = lastColumn ? 0 : column + 1;
+        } else {
+            removeWallBetween(cell, cell + 1);
+        }
+    }
+
+    /**
+     * Start again from the first tile
+     */
+    @Override
+    protected void resetTree(){
+        currentCell = 0;
+        runStart = 0;
+    }
+
+    /**
+     * Check if every tile has been connected
+     * @return
+     * {@code true} if the last tile has been connected, {@code false} if not
+     */
+    @Override
+    protected boolean isTreeComplete(){
+        return currentCell >= maze.getCellCount();
+    }
+}
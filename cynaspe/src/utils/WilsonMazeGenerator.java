@@ -0,0 +1,111 @@
+package utils;
+
+import enums.MazeType;
+import enums.WallDirection;
+import model.MazeModel;
+
+/**
+ * Maze generator using Wilson's algorithm.
+ * <p>
+ * A random walk starts from a tile not in the maze until it reaches the maze, then the walk
+ * without its loops is added to the maze. Each tile only keeps the direction it was last left by,
+ * which erases the loops, so the memory is a {@code byte} per tile.
+ * Every spanning tree has the same chance to be made, but the first walks are long on large mazes.
+ * A step moves the walk by one tile.
+ * </p>
+ */
+public class WilsonMazeGenerator extends MazeGenerator {
+    /** The directions, indexed by their ordinal */
+    private static final WallDirection[] DIRECTIONS = WallDirection.values();
+
+    // Direction each tile of the walk was last left by
+    private final byte[] walkDirections;
+    // First tile of the current walk, -1 if there's no walk
+    private int walkStart = -1;
+    // Current tile of the walk
+    private int walkCell;
+    // First tile that may not be in the maze yet
+    private int nextStart = 0;
+    // Neighbors of a tile, reused at each step
+    private final int[] neighbors = new int[4];
+
+    /**
+     * Constructor to initialize the generator
+     * @param maze
+     * The grid of tiles to generate the maze on
+     * @param seed
+     * The seed used for the generation, can re-create a same maze
+     * @param mazeType
+     * The type of maze (PERFECT or IMPERFECT)
+     */
+    public WilsonMazeGenerator(MazeModel maze, int seed, MazeType mazeType){
+        super(maze, seed, mazeType);
+        walkDirections = new byte[maze.getCellCount()];
+    }
+
+    /**
+     * Move the walk by one tile, and add it to the maze when it reaches it
+     */
+    @Override
+    protected void stepTree(){
+        if (walkStart < 0){
+            // Start a new walk from the first tile not in the maze
+            nextStart = visited.nextClearBit(nextStart);
+            walkStart = nextStart;
+            walkCell = nextStart;
+        }
+
+        int count = getNeighbors(walkCell, neighbors);
+        int next = neighbors[random.nextInt(count)];
+        walkDirections[walkCell] = (byte) getDirection(walkCell, next).ordinal();
+        if (!visited.get(next)){
+            walkCell = next;
+            return;
+        }
+
+        // Add the walk to the maze, following the last direction of each tile
+        int cell = walkStart;
+        while (!visited.get(cell)){
+            markVisited(cell);
+            int neighbor = maze.getNeighborCell(cell, DIRECTIONS[walkDirections[cell]]);
+            removeWallBetween(cell, neighbor);
+            cell = neighbor;
+        }
+        walkStart = -1;
+    }
+
+    /**
+     * Get the direction to go from a tile to its neighbor
+     * @param cell
+     * The cell id of the tile
+     * @param neighbor
+     * The cell id of the neighbor
+     * @return
+     * The {@code WallDirection} between the two
+     */
+    private WallDirection getDirection(int cell, int neighbor){
+        if (neighbor == cell - maze.numCols) return WallDirection.TOP;
+        if (neighbor == cell + maze.numCols) return WallDirection.BOTTOM;
+        return neighbor == cell - 1 ? WallDirection.LEFT : WallDirection.RIGHT;
+    }
+
+    /**
+     * Drop the current walk and start again from a random tile, the directions left are overwritten by the walks
+     */
+    @Override
+    protected void resetTree(){
+        walkStart = -1;
+        nextStart = 0;
+        markVisited(random.nextInt(maze.getCellCount()));
+    }
+
+    /**
+     * Check if every tile is in the maze
+     * @return
+     * {@code true} if every tile has been visited, {@code false} if not
+     */
+    @Override
+    protected boolean isTreeComplete(){
+        return visitedCount == maze.getCellCount();
+    }
+}